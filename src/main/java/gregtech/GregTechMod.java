@@ -6,9 +6,13 @@ import gregtech.api.GTValues;
 import gregtech.api.capability.SimpleCapabilityManager;
 import gregtech.api.items.gui.PlayerInventoryUIFactory;
 import gregtech.api.metatileentity.MetaTileEntityUIFactory;
+import gregtech.api.metatileentity.MetaTileEntityUpdateQueue;
+import gregtech.api.metatileentity.multiblock.MultiblockWorldIndex;
 import gregtech.api.model.ResourcePackHook;
 import gregtech.api.net.NetworkHandler;
+import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.lookup.RecipeLookupIndex;
 import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.unification.material.Materials;
 import gregtech.api.unification.material.type.Material;
@@ -29,6 +33,7 @@ import gregtech.common.multipart.GTMultipartFactory;
 import gregtech.common.worldgen.WorldGenRubberTree;
 import gregtech.integration.theoneprobe.TheOneProbeCompatibility;
 import gregtech.loaders.dungeon.DungeonLootLoader;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fml.common.*;
 import net.minecraftforge.fml.common.Optional.Method;
@@ -69,6 +74,10 @@ public class GregTechMod {
         PlayerInventoryUIFactory.INSTANCE.init();
         SimpleCapabilityManager.init();
         OreDictUnifier.init();
+        MinecraftForge.EVENT_BUS.register(RecipeLookupIndex.class);
+        MinecraftForge.EVENT_BUS.register(MultiblockWorldIndex.class);
+        MinecraftForge.EVENT_BUS.register(MetaTileEntityUpdateQueue.class);
+        MinecraftForge.EVENT_BUS.register(WorldPipeNet.class);
         Materials.register();
 
         if(Loader.isModLoaded(GTValues.MODID_CT)) {
@@ -198,6 +198,14 @@ public class BlockMachine extends Block implements ITileEntityProvider {
         }
     }
 
+    @Override
+    public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos) {
+        MetaTileEntity metaTileEntity = getMetaTileEntity(worldIn, pos);
+        if(metaTileEntity != null) {
+            metaTileEntity.onNeighborChanged();
+        }
+    }
+
     @Override
     public void breakBlock(World worldIn, BlockPos pos, IBlockState state) {
         MetaTileEntity metaTileEntity = getMetaTileEntity(worldIn, pos);
@@ -0,0 +1,31 @@
+package gregtech.api.capability;
+
+/**
+ * Item, fluid or energy handler counting modifications of it's contents, so logic
+ * depending only on handler contents can skip work while they are unchanged
+ */
+public interface IVersionedHandler {
+
+    /**
+     * Returned for handlers which don't count their modifications
+     */
+    long UNVERSIONED = -1L;
+
+    /**
+     * @return counter increased on every modification of contents, never decreases
+     */
+    long getContentsVersion();
+
+    /**
+     * Should be called by code modifying contained stacks in place,
+     * instead of going through handler methods
+     */
+    void markContentsChanged();
+
+    /**
+     * @return contents version of given handler, or {@link #UNVERSIONED} if it doesn't count modifications
+     */
+    static long getContentsVersion(Object handler) {
+        return handler instanceof IVersionedHandler ? ((IVersionedHandler) handler).getContentsVersion() : UNVERSIONED;
+    }
+}
@@ -1,7 +1,5 @@
 package gregtech.api.capability.impl;
 
-import gnu.trove.list.TIntList;
-import gnu.trove.list.array.TIntArrayList;
 import gregtech.api.GTValues;
 import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.capability.IElectricItem;
@@ -10,7 +8,6 @@ import gregtech.api.metatileentity.MTETrait;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.common.ConfigHolder;
 import net.minecraft.item.ItemStack;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.capabilities.Capability;
@@ -18,16 +15,35 @@ import net.minecraftforge.items.IItemHandlerModifiable;
 
 import javax.annotation.Nullable;
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.ToLongFunction;
 
-import static gregtech.api.util.GTUtility.*;
+import static gregtech.api.util.GTUtility.castToLong;
+import static gregtech.api.util.GTUtility.getTierByVoltage;
 
+/**
+ * Energy container backed by batteries in inventory of the machine<p>
+ *
+ * Battery capability, charge and capacity are cached for every slot while it holds the same stack,
+ * so energy transfer and stored energy queries don't look up capabilities of every stack on every call.
+ */
 public class EnergyContainerBatteryBuffer extends MTETrait implements IEnergyContainer.IEnergyContainerOverflowSafe {
 
     private final int tier;
 
+    //cached batteries of every slot, valid while slot holds the same stack instance
+    private ItemStack[] slotStacks = new ItemStack[0];
+    private IElectricItem[] slotBatteries = new IElectricItem[0];
+    private long[] slotCharges = new long[0];
+    private long[] slotCapacities = new long[0];
+    //slots able to emit energy packet, reused by every update
+    private int[] dischargeSlots = new int[0];
+
+    private boolean totalsValid = false;
+    private long energyStored;
+    private long energyCapacity;
+    //set only when totals don't fit into long
+    private BigInteger energyStoredActual;
+    private BigInteger energyCapacityActual;
+
     public EnergyContainerBatteryBuffer(MetaTileEntity metaTileEntity, int tier) {
         super(metaTileEntity);
         this.tier = tier;
@@ -48,13 +64,14 @@ public class EnergyContainerBatteryBuffer extends MTETrait implements IEnergyCon
                 return Math.min(amperage, getInputAmperage());
             }
             IItemHandlerModifiable inventory = getInventory();
-            for (int i = 0; i < inventory.getSlots(); i++) {
-                ItemStack batteryStack = inventory.getStackInSlot(i);
-                IElectricItem electricItem = getBatteryContainer(batteryStack);
+            validateSlots();
+            for (int i = 0; i < slotBatteries.length; i++) {
+                IElectricItem electricItem = slotBatteries[i];
                 if (electricItem == null) continue;
                 if(electricItem.charge(voltage, getTier(), true, true) == voltage) {
                     electricItem.charge(voltage, getTier(), true, false);
-                    inventory.setStackInSlot(i, batteryStack);
+                    inventory.setStackInSlot(i, slotStacks[i]);
+                    updateSlotCharge(i);
                     if(--amperage == 0) break;
                 }
             }
@@ -66,91 +83,147 @@ public class EnergyContainerBatteryBuffer extends MTETrait implements IEnergyCon
     public void update() {
         if(!metaTileEntity.getWorld().isRemote) {
             EnumFacing outFacing = metaTileEntity.getFrontFacing();
-            TileEntity tileEntity = metaTileEntity.getWorld().getTileEntity
-                (metaTileEntity.getPos().offset(outFacing));
-            if(tileEntity == null) return;
-            IEnergyContainer energyContainer = tileEntity.getCapability(
-                GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, outFacing.getOpposite());
+            IEnergyContainer energyContainer = metaTileEntity.getNeighborCapability(
+                outFacing, GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER);
             if(energyContainer == null) return;
             IItemHandlerModifiable inventory = getInventory();
             long voltage = getOutputVoltage();
-            long maxAmperage = 0L;
-            TIntList slotsList = new TIntArrayList();
-            for (int i = 0; i < inventory.getSlots(); i++) {
-                ItemStack batteryStack = inventory.getStackInSlot(i);
-                IElectricItem electricItem = getBatteryContainer(batteryStack);
-                if (electricItem == null) continue;
-                if(electricItem.discharge(voltage, getTier(), true, true, true) == voltage) {
-                    slotsList.add(i);
-                    maxAmperage++;
+            validateSlots();
+            int dischargeSlotsCount = 0;
+            for (int i = 0; i < slotBatteries.length; i++) {
+                if (slotBatteries[i] != null && slotCharges[i] >= voltage) {
+                    dischargeSlots[dischargeSlotsCount++] = i;
                 }
             }
-            if(maxAmperage == 0) return;
-            long amperageUsed = energyContainer.acceptEnergyFromNetwork(outFacing.getOpposite(), voltage, maxAmperage);
+            if(dischargeSlotsCount == 0) return;
+            long amperageUsed = energyContainer.acceptEnergyFromNetwork(outFacing.getOpposite(), voltage, dischargeSlotsCount);
             if(amperageUsed == 0) return;
-            for (int i : slotsList.toArray()) {
-                ItemStack batteryStack = inventory.getStackInSlot(i);
-                IElectricItem electricItem = getBatteryContainer(batteryStack);
+            for (int j = 0; j < dischargeSlotsCount; j++) {
+                int i = dischargeSlots[j];
+                IElectricItem electricItem = slotBatteries[i];
                 if (electricItem == null) continue;
                 electricItem.discharge(voltage, getTier(), true, true, false);
-                inventory.setStackInSlot(i, batteryStack);
+                inventory.setStackInSlot(i, slotStacks[i]);
+                updateSlotCharge(i);
                 if(--amperageUsed == 0) break;
             }
         }
     }
 
-    private List<IElectricItem> getElectricItems() {
-        List<IElectricItem> electricItems = new ArrayList<>();
+    /**
+     * Refreshes cached batteries of slots which stacks were replaced since last call
+     */
+    private void validateSlots() {
         IItemHandlerModifiable inventory = getInventory();
-        for(int i = 0; i < inventory.getSlots(); i++) {
+        int slotsCount = inventory.getSlots();
+        if(slotStacks.length != slotsCount) {
+            this.slotStacks = new ItemStack[slotsCount];
+            this.slotBatteries = new IElectricItem[slotsCount];
+            this.slotCharges = new long[slotsCount];
+            this.slotCapacities = new long[slotsCount];
+            this.dischargeSlots = new int[slotsCount];
+        }
+        for(int i = 0; i < slotsCount; i++) {
             ItemStack batteryStack = inventory.getStackInSlot(i);
-            IElectricItem electricItem = getBatteryContainer(batteryStack);
-            if (electricItem != null) electricItems.add(electricItem);
+            //stack emptied in place is not a battery anymore even if instance is the same
+            if(batteryStack != slotStacks[i] || (slotBatteries[i] != null && batteryStack.isEmpty())) {
+                IElectricItem electricItem = batteryStack.isEmpty() ? null : getBatteryContainer(batteryStack);
+                this.slotStacks[i] = batteryStack;
+                this.slotBatteries[i] = electricItem;
+                this.slotCapacities[i] = electricItem == null ? 0L : electricItem.getMaxCharge();
+                updateSlotCharge(i);
+            }
         }
-        return electricItems;
     }
 
-    private long getCastedSum(ToLongFunction<IElectricItem> toLong) {
-        return castedSum(getElectricItems().stream()
-            .mapToLong(toLong)
-            .toArray());
+    private void updateSlotCharge(int slot) {
+        IElectricItem electricItem = slotBatteries[slot];
+        this.slotCharges[slot] = electricItem == null ? 0L : electricItem.discharge(Long.MAX_VALUE, getTier(), true, true, true);
+        this.totalsValid = false;
     }
 
-    private BigInteger getActualSum(ToLongFunction<IElectricItem> toLong) {
-        return sum(getElectricItems().stream()
-            .mapToLong(toLong)
-            .toArray());
+    private void updateTotals() {
+        validateSlots();
+        if(totalsValid)
+            return;
+        long energyStored = 0L;
+        long energyCapacity = 0L;
+        boolean overflowed = false;
+        for(int i = 0; i < slotBatteries.length; i++) {
+            if(Long.MAX_VALUE - energyStored < slotCharges[i] || Long.MAX_VALUE - energyCapacity < slotCapacities[i]) {
+                overflowed = true;
+                break;
+            }
+            energyStored += slotCharges[i];
+            energyCapacity += slotCapacities[i];
+        }
+        if(overflowed) {
+            BigInteger energyStoredActual = BigInteger.ZERO;
+            BigInteger energyCapacityActual = BigInteger.ZERO;
+            for(int i = 0; i < slotBatteries.length; i++) {
+                energyStoredActual = energyStoredActual.add(BigInteger.valueOf(slotCharges[i]));
+                energyCapacityActual = energyCapacityActual.add(BigInteger.valueOf(slotCapacities[i]));
+            }
+            this.energyStoredActual = energyStoredActual;
+            this.energyCapacityActual = energyCapacityActual;
+            this.energyStored = castToLong(energyStoredActual);
+            this.energyCapacity = castToLong(energyCapacityActual);
+        } else {
+            this.energyStoredActual = null;
+            this.energyCapacityActual = null;
+            this.energyStored = energyStored;
+            this.energyCapacity = energyCapacity;
+        }
+        this.totalsValid = true;
     }
 
-    private final ToLongFunction<IElectricItem> getEnergyStored = electricItem -> electricItem.discharge(Long.MAX_VALUE, getTier(), true, true, true);
-
     @Override
     public long getEnergyCapacity() {
-        return getCastedSum(IElectricItem::getMaxCharge);
+        updateTotals();
+        return energyCapacity;
     }
 
     @Override
     public BigInteger getEnergyCapacityActual() {
-        return getActualSum(IElectricItem::getMaxCharge);
+        updateTotals();
+        return energyCapacityActual == null ? BigInteger.valueOf(energyCapacity) : energyCapacityActual;
     }
 
     @Override
     public long getEnergyStored() {
-        return getCastedSum(getEnergyStored);
+        updateTotals();
+        return energyStored;
     }
 
     @Override
     public BigInteger getEnergyStoredActual() {
-        return getActualSum(getEnergyStored);
+        updateTotals();
+        return energyStoredActual == null ? BigInteger.valueOf(energyStored) : energyStoredActual;
+    }
+
+    @Override
+    public boolean canUse(long energy) {
+        updateTotals();
+        if(energyStoredActual == null) {
+            return energyStored >= energy;
+        }
+        return energyStoredActual.compareTo(BigInteger.valueOf(energy)) >= 0;
+    }
+
+    @Override
+    public long getEnergyCanBeInserted() {
+        updateTotals();
+        if(energyStoredActual == null) {
+            return energyCapacity - energyStored;
+        }
+        return castToLong(energyCapacityActual.subtract(energyStoredActual));
     }
 
     @Override
     public long getInputAmperage() {
+        validateSlots();
         long inputAmperage = 0L;
-        IItemHandlerModifiable inventory = getInventory();
-        for (int i = 0; i < inventory.getSlots(); i++) {
-            ItemStack batteryStack = inventory.getStackInSlot(i);
-            IElectricItem electricItem = getBatteryContainer(batteryStack);
+        for (IElectricItem electricItem : slotBatteries) {
             if (electricItem == null) continue;
             inputAmperage++;
         }
@@ -3,13 +3,13 @@ package gregtech.api.capability.impl;
 import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.capability.IElectricItem;
 import gregtech.api.capability.IEnergyContainer;
+import gregtech.api.capability.IVersionedHandler;
 import gregtech.api.metatileentity.MTETrait;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.util.GTUtility;
 import gregtech.common.ConfigHolder;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.capabilities.Capability;
@@ -18,10 +18,11 @@ import net.minecraftforge.items.IItemHandlerModifiable;
 import javax.annotation.Nullable;
 import java.util.function.Predicate;
 
-public class EnergyContainerHandler extends MTETrait implements IEnergyContainer {
+public class EnergyContainerHandler extends MTETrait implements IEnergyContainer, IVersionedHandler {
 
     private final long maxCapacity;
     private long energyStored;
+    private long contentsVersion;
 
     private final long maxInputVoltage;
     private final long maxInputAmperage;
@@ -78,6 +79,7 @@ public class EnergyContainerHandler extends MTETrait implements IEnergyContainer
     @Override
     public void deserializeNBT(NBTTagCompound compound) {
         this.energyStored = compound.getLong("EnergyStored");
+        this.contentsVersion++;
     }
 
     @Override
@@ -87,11 +89,22 @@ public class EnergyContainerHandler extends MTETrait implements IEnergyContainer
 
     public void setEnergyStored(long energyStored) {
         this.energyStored = energyStored;
+        this.contentsVersion++;
         if(!metaTileEntity.getWorld().isRemote) {
             metaTileEntity.markDirty();
         }
     }
 
+    @Override
+    public long getContentsVersion() {
+        return contentsVersion;
+    }
+
+    @Override
+    public void markContentsChanged() {
+        this.contentsVersion++;
+    }
+
     public void dischargeEnergyContainers(IItemHandlerModifiable itemHandler, int slotIndex) {
         ItemStack stackInSlot = itemHandler.getStackInSlot(slotIndex);
         if(stackInSlot.isEmpty()) return;
@@ -118,14 +131,11 @@ public class EnergyContainerHandler extends MTETrait implements IEnergyContainer
             long amperesUsed = 0;
             for(EnumFacing side : EnumFacing.VALUES) {
                 if(!outputsEnergy(side)) continue;
-                TileEntity tileEntity = metaTileEntity.getWorld().getTileEntity(metaTileEntity.getPos().offset(side));
                 EnumFacing oppositeSide = side.getOpposite();
-                if(tileEntity != null && tileEntity.hasCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, oppositeSide)) {
-                    IEnergyContainer energyContainer = tileEntity.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, oppositeSide);
-                    if(energyContainer == null || !energyContainer.inputsEnergy(oppositeSide)) continue;
-                    amperesUsed += energyContainer.acceptEnergyFromNetwork(oppositeSide, outputVoltage, outputAmperes - amperesUsed);
-                    if(amperesUsed == outputAmperes) break;
-                }
+                IEnergyContainer energyContainer = metaTileEntity.getNeighborCapability(side, GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER);
+                if(energyContainer == null || !energyContainer.inputsEnergy(oppositeSide)) continue;
+                amperesUsed += energyContainer.acceptEnergyFromNetwork(oppositeSide, outputVoltage, outputAmperes - amperesUsed);
+                if(amperesUsed == outputAmperes) break;
             }
             if(amperesUsed > 0) {
                 setEnergyStored(getEnergyStored() - amperesUsed * outputVoltage);
@@ -1,28 +1,41 @@
 package gregtech.api.capability.impl;
 
 import gregtech.api.capability.IEnergyContainer;
+import gregtech.api.capability.IVersionedHandler;
 import net.minecraft.util.EnumFacing;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Function;
-import java.util.function.ToLongFunction;
 
-import static gregtech.api.util.GTUtility.*;
+import static gregtech.api.util.GTUtility.castToLong;
 
+/**
+ * Delegates energy calls into multiple energy containers<p>
+ *
+ * Total stored energy and capacity are cached and reused while contents versions of all containers
+ * are unchanged, and energy changed through this list is applied to the cached total directly.
+ * Totals of containers which don't count their modifications are recomputed on every call.
+ * Totals are summed as longs, and {@link BigInteger} is only used once they overflow.
+ */
 public class EnergyContainerList implements IEnergyContainer.IEnergyContainerOverflowSafe {
 
-    private List<IEnergyContainer> energyContainerList;
+    private final IEnergyContainer[] energyContainers;
+
+    private long totalsVersion = IVersionedHandler.UNVERSIONED;
+    private long energyStored;
+    private long energyCapacity;
+    //set only when totals don't fit into long
+    private BigInteger energyStoredActual;
+    private BigInteger energyCapacityActual;
 
     public EnergyContainerList(List<IEnergyContainer> energyContainerList) {
-        this.energyContainerList = energyContainerList;
+        this.energyContainers = energyContainerList.toArray(new IEnergyContainer[0]);
     }
 
     @Override
     public long acceptEnergyFromNetwork(EnumFacing side, long voltage, long amperage) {
         long amperesUsed = 0L;
-        for (IEnergyContainer energyContainer : energyContainerList) {
+        for (IEnergyContainer energyContainer : energyContainers) {
             amperesUsed += energyContainer.acceptEnergyFromNetwork(null, voltage, amperage);
             if (amperage == amperesUsed) break;
         }
@@ -31,67 +44,116 @@ public class EnergyContainerList implements IEnergyContainer.IEnergyContainerOve
 
     @Override
     public long changeEnergy(long energyToAdd) {
+        //totals can be updated in place only if they were up to date before the change
+        boolean totalsValid = isTotalsValid(getContentsVersion());
         long energyAdded = 0L;
-        for(IEnergyContainer energyContainer : energyContainerList) {
+        for(IEnergyContainer energyContainer : energyContainers) {
             energyAdded += energyContainer.changeEnergy(energyToAdd - energyAdded);
             if(energyAdded == energyToAdd) break;
         }
+        if(totalsValid && energyStoredActual == null) {
+            this.energyStored += energyAdded;
+            this.totalsVersion = getContentsVersion();
+        }
         return energyAdded;
     }
 
-    private long getCastedSum(ToLongFunction<IEnergyContainer> toLong, Function<IEnergyContainer, BigInteger> toBigInteger) {
-        List<IEnergyContainer> overflowSafe = new ArrayList<>();
-        List<IEnergyContainer> overflowUnsafe = new ArrayList<>();
-        for (IEnergyContainer energyContainer : energyContainerList) {
-            (energyContainer.isSummationOverflowSafe() ? overflowSafe : overflowUnsafe).add(energyContainer);
-        }
-        long[] values = overflowSafe.stream()
-            .mapToLong(toLong)
-            .toArray();
-        if (overflowUnsafe.isEmpty()) {
-            return castedSum(values);
-        } else {
-            BigInteger result = sum(values);
-            for (IEnergyContainer energyContainer : overflowUnsafe) {
-                result = result.add(toBigInteger.apply(energyContainer));
-            }
-            return castToLong(result);
+    private long getContentsVersion() {
+        long contentsVersion = 0L;
+        for(IEnergyContainer energyContainer : energyContainers) {
+            long containerVersion = IVersionedHandler.getContentsVersion(energyContainer);
+            if(containerVersion == IVersionedHandler.UNVERSIONED)
+                return IVersionedHandler.UNVERSIONED;
+            contentsVersion += containerVersion;
         }
+        return contentsVersion;
     }
 
-    private BigInteger getActualSum(ToLongFunction<IEnergyContainer> toLong, Function<IEnergyContainer, BigInteger> toBigInteger) {
-        List<IEnergyContainer> overflowSafe = new ArrayList<>();
-        List<IEnergyContainer> overflowUnsafe = new ArrayList<>();
-        for (IEnergyContainer energyContainer : energyContainerList) {
-            (energyContainer.isSummationOverflowSafe() ? overflowSafe : overflowUnsafe).add(energyContainer);
+    private boolean isTotalsValid(long contentsVersion) {
+        return contentsVersion != IVersionedHandler.UNVERSIONED && contentsVersion == totalsVersion;
+    }
+
+    private void updateTotals() {
+        long contentsVersion = getContentsVersion();
+        if(isTotalsValid(contentsVersion))
+            return;
+        long energyStored = 0L;
+        long energyCapacity = 0L;
+        boolean overflowed = false;
+        for(IEnergyContainer energyContainer : energyContainers) {
+            if(!energyContainer.isSummationOverflowSafe()) {
+                overflowed = true;
+                break;
+            }
+            long containerStored = energyContainer.getEnergyStored();
+            long containerCapacity = energyContainer.getEnergyCapacity();
+            if(Long.MAX_VALUE - energyStored < containerStored || Long.MAX_VALUE - energyCapacity < containerCapacity) {
+                overflowed = true;
+                break;
+            }
+            energyStored += containerStored;
+            energyCapacity += containerCapacity;
         }
-        BigInteger result = sum(overflowSafe.stream()
-            .mapToLong(toLong)
-            .toArray());
-        if (!overflowUnsafe.isEmpty()) for (IEnergyContainer energyContainer : overflowUnsafe) {
-            result = result.add(toBigInteger.apply(energyContainer));
+        if(overflowed) {
+            BigInteger energyStoredActual = BigInteger.ZERO;
+            BigInteger energyCapacityActual = BigInteger.ZERO;
+            for(IEnergyContainer energyContainer : energyContainers) {
+                energyStoredActual = energyStoredActual.add(energyContainer.getEnergyStoredActual());
+                energyCapacityActual = energyCapacityActual.add(energyContainer.getEnergyCapacityActual());
+            }
+            this.energyStoredActual = energyStoredActual;
+            this.energyCapacityActual = energyCapacityActual;
+            this.energyStored = castToLong(energyStoredActual);
+            this.energyCapacity = castToLong(energyCapacityActual);
+        } else {
+            this.energyStoredActual = null;
+            this.energyCapacityActual = null;
+            this.energyStored = energyStored;
+            this.energyCapacity = energyCapacity;
         }
-        return result;
+        this.totalsVersion = contentsVersion;
     }
 
     @Override
     public long getEnergyStored() {
-        return getCastedSum(IEnergyContainer::getEnergyStored, IEnergyContainer::getEnergyStoredActual);
+        updateTotals();
+        return energyStored;
     }
 
     @Override
     public BigInteger getEnergyStoredActual() {
-        return getActualSum(IEnergyContainer::getEnergyStored, IEnergyContainer::getEnergyStoredActual);
+        updateTotals();
+        return energyStoredActual == null ? BigInteger.valueOf(energyStored) : energyStoredActual;
     }
 
     @Override
     public long getEnergyCapacity() {
-        return getCastedSum(IEnergyContainer::getEnergyCapacity, IEnergyContainer::getEnergyCapacityActual);
+        updateTotals();
+        return energyCapacity;
     }
 
     @Override
     public BigInteger getEnergyCapacityActual() {
-        return getActualSum(IEnergyContainer::getEnergyCapacity, IEnergyContainer::getEnergyCapacityActual);
+        updateTotals();
+        return energyCapacityActual == null ? BigInteger.valueOf(energyCapacity) : energyCapacityActual;
+    }
+
+    @Override
+    public boolean canUse(long energy) {
+        updateTotals();
+        if(energyStoredActual == null) {
+            return energyStored >= energy;
+        }
+        return energyStoredActual.compareTo(BigInteger.valueOf(energy)) >= 0;
+    }
+
+    @Override
+    public long getEnergyCanBeInserted() {
+        updateTotals();
+        if(energyStoredActual == null) {
+            return energyCapacity - energyStored;
+        }
+        return castToLong(energyCapacityActual.subtract(energyStoredActual));
     }
 
     @Override
@@ -106,16 +168,20 @@ public class EnergyContainerList implements IEnergyContainer.IEnergyContainerOve
 
     @Override
     public long getInputVoltage() {
-        return energyContainerList.stream()
-            .mapToLong(v -> v.getInputVoltage() * v.getInputAmperage())
-            .sum();
+        long inputVoltage = 0L;
+        for(IEnergyContainer energyContainer : energyContainers) {
+            inputVoltage += energyContainer.getInputVoltage() * energyContainer.getInputAmperage();
+        }
+        return inputVoltage;
     }
 
     @Override
     public long getOutputVoltage() {
-        return energyContainerList.stream()
-            .mapToLong(v -> v.getOutputVoltage() * v.getOutputAmperage())
-            .sum();
+        long outputVoltage = 0L;
+        for(IEnergyContainer energyContainer : energyContainers) {
+            outputVoltage += energyContainer.getOutputVoltage() * energyContainer.getOutputAmperage();
+        }
+        return outputVoltage;
     }
 
     @Override
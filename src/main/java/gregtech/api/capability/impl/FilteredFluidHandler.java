@@ -1,5 +1,7 @@
 package gregtech.api.capability.impl;
 
+import gregtech.api.capability.IVersionedHandler;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTank;
@@ -7,9 +9,10 @@ import net.minecraftforge.fluids.FluidTank;
 import javax.annotation.Nullable;
 import java.util.function.Predicate;
 
-public class FilteredFluidHandler extends FluidTank {
+public class FilteredFluidHandler extends FluidTank implements IVersionedHandler {
 
     private Predicate<FluidStack> fillPredicate;
+    private long contentsVersion;
 
     public FilteredFluidHandler(int capacity) {
         super(capacity);
@@ -32,4 +35,32 @@ public class FilteredFluidHandler extends FluidTank {
     public boolean canFillFluidType(FluidStack fluid) {
         return canFill() && (fillPredicate == null || fillPredicate.test(fluid));
     }
+
+    @Override
+    public void setFluid(@Nullable FluidStack fluid) {
+        super.setFluid(fluid);
+        this.contentsVersion++;
+    }
+
+    @Override
+    public FluidTank readFromNBT(NBTTagCompound nbt) {
+        this.contentsVersion++;
+        return super.readFromNBT(nbt);
+    }
+
+    @Override
+    protected void onContentsChanged() {
+        super.onContentsChanged();
+        this.contentsVersion++;
+    }
+
+    @Override
+    public long getContentsVersion() {
+        return contentsVersion;
+    }
+
+    @Override
+    public void markContentsChanged() {
+        this.contentsVersion++;
+    }
 }
@@ -1,6 +1,7 @@
 package gregtech.api.capability.impl;
 
 import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.capability.IVersionedHandler;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -15,7 +16,7 @@ import net.minecraftforge.fluids.capability.IFluidTankProperties;
 import javax.annotation.Nullable;
 import java.util.*;
 
-public class FluidTankList implements IFluidHandler, IMultipleTankHandler, INBTSerializable<NBTTagCompound> {
+public class FluidTankList implements IFluidHandler, IMultipleTankHandler, IVersionedHandler, INBTSerializable<NBTTagCompound> {
 
     protected final List<IFluidTank> fluidTanks;
     protected IFluidTankProperties[] properties;
@@ -78,51 +79,64 @@ public class FluidTankList implements IFluidHandler, IMultipleTankHandler, INBTS
         if (resource == null || resource.amount <= 0) {
             return 0;
         }
-        return fillTanksImpl(resource.copy(), doFill);
+        return fillTanksImpl(resource, doFill);
     }
 
     //fills exactly one tank if multi-filling is not allowed
     //and as much tanks as possible otherwise
     //note that it will always try to fill tanks with same fluid first
+    //resource is passed to tanks as is, and copied with remaining amount only after partial fill
     private int fillTanksImpl(FluidStack resource, boolean doFill) {
         int totalFilled = 0;
+        FluidStack remainingResource = resource;
         //first, try to fill tanks that already have same fluid type
-        for (IFluidTank handler : fluidTanks) {
+        for (int i = 0; i < fluidTanks.size(); i++) {
+            IFluidTank handler = fluidTanks.get(i);
             if(resource.isFluidEqual(handler.getFluid())) {
-                int filledAmount = handler.fill(resource, doFill);
+                int filledAmount = handler.fill(remainingResource, doFill);
                 totalFilled += filledAmount;
-                resource.amount -= filledAmount;
                 //if filling multiple tanks is not allowed, or resource is empty, return now
-                if(!allowSameFluidFill || resource.amount == 0)
+                if(!allowSameFluidFill || totalFilled == resource.amount)
                     return totalFilled;
+                if(filledAmount > 0)
+                    remainingResource = copyWithAmount(resource, resource.amount - totalFilled);
             }
         }
         //otherwise, try to fill empty tanks
-        for(IFluidTank handler : fluidTanks) {
+        for (int i = 0; i < fluidTanks.size(); i++) {
+            IFluidTank handler = fluidTanks.get(i);
             if(handler.getFluidAmount() == 0) {
-                int filledAmount = handler.fill(resource, doFill);
+                int filledAmount = handler.fill(remainingResource, doFill);
                 totalFilled += filledAmount;
-                resource.amount -= filledAmount;
-                if(!allowSameFluidFill || resource.amount == 0)
+                if(!allowSameFluidFill || totalFilled == resource.amount)
                     return totalFilled;
+                if(filledAmount > 0)
+                    remainingResource = copyWithAmount(resource, resource.amount - totalFilled);
             }
         }
         return totalFilled;
     }
 
+    private static FluidStack copyWithAmount(FluidStack fluidStack, int amount) {
+        FluidStack resultStack = fluidStack.copy();
+        resultStack.amount = amount;
+        return resultStack;
+    }
+
     @Nullable
     @Override
     public FluidStack drain(FluidStack resource, boolean doDrain) {
         if (resource == null || resource.amount <= 0) {
             return null;
         }
-        resource = resource.copy();
+        int remainingAmount = resource.amount;
         FluidStack totalDrained = null;
-        for (IFluidTank handler : fluidTanks) {
+        for (int i = 0; i < fluidTanks.size(); i++) {
+            IFluidTank handler = fluidTanks.get(i);
             if (!resource.isFluidEqual(handler.getFluid())) {
                 continue;
             }
-            FluidStack drain = handler.drain(resource.amount, doDrain);
+            FluidStack drain = handler.drain(remainingAmount, doDrain);
             if (drain == null) {
                 continue;
             }
@@ -130,8 +144,8 @@ public class FluidTankList implements IFluidHandler, IMultipleTankHandler, INBTS
                 totalDrained = drain;
             } else totalDrained.amount += drain.amount;
 
-            resource.amount -= drain.amount;
-            if (resource.amount == 0) break;
+            remainingAmount -= drain.amount;
+            if (remainingAmount == 0) break;
         }
         return totalDrained;
     }
@@ -143,16 +157,15 @@ public class FluidTankList implements IFluidHandler, IMultipleTankHandler, INBTS
             return null;
         }
         FluidStack totalDrained = null;
-        for (IFluidTank handler : fluidTanks) {
+        for (int i = 0; i < fluidTanks.size(); i++) {
+            IFluidTank handler = fluidTanks.get(i);
             if (totalDrained == null) {
                 totalDrained = handler.drain(maxDrain, doDrain);
                 if (totalDrained != null)
                     maxDrain -= totalDrained.amount;
             } else {
-                FluidStack copy = totalDrained.copy();
-                copy.amount = maxDrain;
-                if (!copy.isFluidEqual(handler.getFluid())) continue;
-                FluidStack drain = handler.drain(copy.amount, doDrain);
+                if (!totalDrained.isFluidEqual(handler.getFluid())) continue;
+                FluidStack drain = handler.drain(maxDrain, doDrain);
                 if (drain != null) {
                     totalDrained.amount += drain.amount;
                     maxDrain -= drain.amount;
@@ -163,6 +176,30 @@ public class FluidTankList implements IFluidHandler, IMultipleTankHandler, INBTS
         return totalDrained;
     }
 
+    /**
+     * @return sum of versions of all tanks, or {@link IVersionedHandler#UNVERSIONED} if any of tanks doesn't count modifications
+     */
+    @Override
+    public long getContentsVersion() {
+        long contentsVersion = 0L;
+        for(IFluidTank fluidTank : fluidTanks) {
+            long tankVersion = IVersionedHandler.getContentsVersion(fluidTank);
+            if(tankVersion == UNVERSIONED)
+                return UNVERSIONED;
+            contentsVersion += tankVersion;
+        }
+        return contentsVersion;
+    }
+
+    @Override
+    public void markContentsChanged() {
+        for(IFluidTank fluidTank : fluidTanks) {
+            if(fluidTank instanceof IVersionedHandler) {
+                ((IVersionedHandler) fluidTank).markContentsChanged();
+            }
+        }
+    }
+
     @Override
     public NBTTagCompound serializeNBT() {
         NBTTagCompound fluidInventory = new NBTTagCompound();
@@ -1,78 +1,107 @@
 package gregtech.api.capability.impl;
 
-import gnu.trove.map.TIntObjectMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
+import gregtech.api.capability.IVersionedHandler;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
 import javax.annotation.Nonnull;
-import java.util.IdentityHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Efficiently delegates calls into multiple item handlers
  */
-public class ItemHandlerList implements IItemHandlerModifiable {
+public class ItemHandlerList implements IItemHandlerModifiable, IVersionedHandler {
 
-    private TIntObjectMap<IItemHandler> handlerBySlotIndex = new TIntObjectHashMap<>();
-    private Map<IItemHandler, Integer> baseIndexOffset = new IdentityHashMap<>();
+    private final IItemHandler[] itemHandlers;
+    //index of handler owning each slot of this list
+    private final int[] handlerBySlotIndex;
+    //index of first slot of each handler in this list
+    private final int[] baseIndexOffset;
 
     public ItemHandlerList(List<? extends IItemHandler> itemHandlerList) {
+        this.itemHandlers = itemHandlerList.toArray(new IItemHandler[0]);
+        this.baseIndexOffset = new int[itemHandlers.length];
+        Set<IItemHandler> addedHandlers = Collections.newSetFromMap(new IdentityHashMap<>());
         int currentSlotIndex = 0;
-        for(IItemHandler itemHandler : itemHandlerList) {
-            if(baseIndexOffset.containsKey(itemHandler)) {
+        for(int handlerIndex = 0; handlerIndex < itemHandlers.length; handlerIndex++) {
+            IItemHandler itemHandler = itemHandlers[handlerIndex];
+            if(!addedHandlers.add(itemHandler)) {
                 throw new IllegalArgumentException("Attempted to add item handler " + itemHandler + " twice");
             }
-            baseIndexOffset.put(itemHandler, currentSlotIndex);
-            int slotsCount = itemHandler.getSlots();
-            for(int slotIndex = 0; slotIndex < slotsCount; slotIndex++) {
-                handlerBySlotIndex.put(currentSlotIndex + slotIndex, itemHandler);
+            baseIndexOffset[handlerIndex] = currentSlotIndex;
+            currentSlotIndex += itemHandler.getSlots();
+        }
+        this.handlerBySlotIndex = new int[currentSlotIndex];
+        for(int handlerIndex = 0; handlerIndex < itemHandlers.length; handlerIndex++) {
+            int endSlotIndex = handlerIndex + 1 < itemHandlers.length ? baseIndexOffset[handlerIndex + 1] : currentSlotIndex;
+            Arrays.fill(handlerBySlotIndex, baseIndexOffset[handlerIndex], endSlotIndex, handlerIndex);
+        }
+    }
+
+    /**
+     * @return sum of versions of all handlers, or {@link IVersionedHandler#UNVERSIONED} if any of handlers doesn't count modifications
+     */
+    @Override
+    public long getContentsVersion() {
+        long contentsVersion = 0L;
+        for(IItemHandler itemHandler : itemHandlers) {
+            long handlerVersion = IVersionedHandler.getContentsVersion(itemHandler);
+            if(handlerVersion == UNVERSIONED)
+                return UNVERSIONED;
+            contentsVersion += handlerVersion;
+        }
+        return contentsVersion;
+    }
+
+    @Override
+    public void markContentsChanged() {
+        for(IItemHandler itemHandler : itemHandlers) {
+            if(itemHandler instanceof IVersionedHandler) {
+                ((IVersionedHandler) itemHandler).markContentsChanged();
             }
-            currentSlotIndex += slotsCount;
         }
     }
 
     @Override
     public int getSlots() {
-        return handlerBySlotIndex.size();
+        return handlerBySlotIndex.length;
     }
 
     @Override
     public void setStackInSlot(int slot, @Nonnull ItemStack stack) {
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
+        int handlerIndex = handlerBySlotIndex[slot];
+        IItemHandler itemHandler = itemHandlers[handlerIndex];
         if(!(itemHandler instanceof IItemHandlerModifiable))
             throw new UnsupportedOperationException("Handler " + itemHandler + " does not support this method");
-        ((IItemHandlerModifiable) itemHandler).setStackInSlot(slot - baseIndexOffset.get(itemHandler), stack);
+        ((IItemHandlerModifiable) itemHandler).setStackInSlot(slot - baseIndexOffset[handlerIndex], stack);
     }
 
     @Nonnull
     @Override
     public ItemStack getStackInSlot(int slot) {
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        int realSlot = slot - baseIndexOffset.get(itemHandler);
-        return itemHandler.getStackInSlot(slot - baseIndexOffset.get(itemHandler));
+        int handlerIndex = handlerBySlotIndex[slot];
+        return itemHandlers[handlerIndex].getStackInSlot(slot - baseIndexOffset[handlerIndex]);
     }
 
     @Override
     public int getSlotLimit(int slot) {
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        return itemHandler.getSlotLimit(slot - baseIndexOffset.get(itemHandler));
+        int handlerIndex = handlerBySlotIndex[slot];
+        return itemHandlers[handlerIndex].getSlotLimit(slot - baseIndexOffset[handlerIndex]);
     }
 
     @Nonnull
     @Override
     public ItemStack insertItem(int slot, @Nonnull ItemStack stack, boolean simulate) {
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        return itemHandler.insertItem(slot - baseIndexOffset.get(itemHandler), stack, simulate);
+        int handlerIndex = handlerBySlotIndex[slot];
+        return itemHandlers[handlerIndex].insertItem(slot - baseIndexOffset[handlerIndex], stack, simulate);
     }
 
     @Nonnull
     @Override
     public ItemStack extractItem(int slot, int amount, boolean simulate) {
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        return itemHandler.extractItem(slot - baseIndexOffset.get(itemHandler), slot, simulate);
+        int handlerIndex = handlerBySlotIndex[slot];
+        return itemHandlers[handlerIndex].extractItem(slot - baseIndexOffset[handlerIndex], amount, simulate);
     }
 
 }
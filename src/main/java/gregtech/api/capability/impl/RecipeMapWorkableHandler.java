@@ -3,11 +3,13 @@ package gregtech.api.capability.impl;
 import gregtech.api.GTValues;
 import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.capability.IVersionedHandler;
 import gregtech.api.capability.IWorkable;
 import gregtech.api.metatileentity.MTETrait;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMatchBuffer;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.XSTR;
 import gregtech.common.ConfigHolder;
@@ -36,12 +38,20 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
     protected List<FluidStack> fluidOutputs;
     protected NonNullList<ItemStack> itemOutputs;
     protected final Random random = new XSTR();
+    protected final RecipeMatchBuffer matchBuffer = new RecipeMatchBuffer();
 
     private boolean isActive;
     private boolean workingEnabled = true;
     private boolean hasNotEnoughEnergy;
     private boolean wasActiveAndNeedsUpdate;
 
+    //state of inputs at the moment of last recipe search which found nothing
+    private long failedSearchInputsVersion = IVersionedHandler.UNVERSIONED;
+    private IItemHandlerModifiable failedSearchInventory;
+    private IMultipleTankHandler failedSearchFluids;
+    private long failedSearchVoltage;
+    private long avoidedRecipeSearches;
+
     public RecipeMapWorkableHandler(MetaTileEntity tileEntity, RecipeMap<?> recipeMap) {
         super(tileEntity);
         this.recipeMap = recipeMap;
@@ -110,7 +120,12 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
             Recipe currentRecipe;
             IItemHandlerModifiable importInventory = getInputInventory();
             IMultipleTankHandler importFluids = getInputTank();
-            if(previousRecipe != null && previousRecipe.matches(false, importInventory, importFluids)) {
+            long inputsVersion = getInputsVersion(importInventory, importFluids);
+            if(isFailedSearchRepeated(maxVoltage, importInventory, importFluids, inputsVersion)) {
+                //inputs didn't change since last search found nothing, so it would find nothing again
+                this.avoidedRecipeSearches++;
+                currentRecipe = null;
+            } else if(previousRecipe != null && previousRecipe.matches(false, importInventory, importFluids, matchBuffer)) {
                 //if previous recipe still matches inputs, try to use it
                 currentRecipe = previousRecipe;
             } else {
@@ -120,9 +135,18 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
                 if(currentRecipe != null && currentRecipe.canBeBuffered()) {
                     this.previousRecipe = currentRecipe;
                 }
+                if(currentRecipe == null) {
+                    this.failedSearchInputsVersion = inputsVersion;
+                    this.failedSearchInventory = importInventory;
+                    this.failedSearchFluids = importFluids;
+                    this.failedSearchVoltage = maxVoltage;
+                }
             }
-            if(currentRecipe != null && setupAndConsumeRecipeInputs(currentRecipe)) {
-                setupRecipe(currentRecipe);
+            if(currentRecipe != null) {
+                this.failedSearchInputsVersion = IVersionedHandler.UNVERSIONED;
+                if(setupAndConsumeRecipeInputs(currentRecipe)) {
+                    setupRecipe(currentRecipe);
+                }
             }
         }
 
@@ -132,6 +156,47 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
         }
     }
 
+    private boolean isFailedSearchRepeated(long maxVoltage, IItemHandlerModifiable importInventory, IMultipleTankHandler importFluids, long inputsVersion) {
+        return inputsVersion != IVersionedHandler.UNVERSIONED && inputsVersion == failedSearchInputsVersion &&
+            importInventory == failedSearchInventory && importFluids == failedSearchFluids && maxVoltage == failedSearchVoltage;
+    }
+
+    /**
+     * @return true if this handler has nothing to do until it is enabled or it's inputs change,
+     * because it is disabled or last recipe search found nothing for current inputs
+     */
+    public boolean isIdle() {
+        if(wasActiveAndNeedsUpdate) {
+            return false;
+        }
+        if(!workingEnabled || progressTime > 0) {
+            return !workingEnabled;
+        }
+        IItemHandlerModifiable importInventory = getInputInventory();
+        IMultipleTankHandler importFluids = getInputTank();
+        return isFailedSearchRepeated(getMaxVoltage(), importInventory, importFluids, getInputsVersion(importInventory, importFluids));
+    }
+
+    /**
+     * @return combined contents version of input handlers, or {@link IVersionedHandler#UNVERSIONED}
+     * if any of them doesn't count modifications
+     */
+    private static long getInputsVersion(IItemHandlerModifiable importInventory, IMultipleTankHandler importFluids) {
+        long inventoryVersion = IVersionedHandler.getContentsVersion(importInventory);
+        long fluidsVersion = IVersionedHandler.getContentsVersion(importFluids);
+        if(inventoryVersion == IVersionedHandler.UNVERSIONED || fluidsVersion == IVersionedHandler.UNVERSIONED) {
+            return IVersionedHandler.UNVERSIONED;
+        }
+        return inventoryVersion + fluidsVersion;
+    }
+
+    /**
+     * @return amount of recipe searches skipped because inputs didn't change since the last failed search
+     */
+    public long getAvoidedRecipeSearches() {
+        return avoidedRecipeSearches;
+    }
+
     protected Recipe findRecipe(long maxVoltage, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
         return recipeMap.findRecipe(maxVoltage, inputs, fluidInputs);
     }
@@ -148,7 +213,7 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
             (!recipe.needsEmptyOutput() || MetaTileEntity.isItemHandlerEmpty(exportInventory)) &&
             MetaTileEntity.addItemsToItemHandler(exportInventory, true, recipe.getOutputs()) &&
             MetaTileEntity.addFluidsToFluidHandler(exportFluids, true, recipe.getFluidOutputs()) &&
-            recipe.matches(true, importInventory, importFluids);
+            recipe.matches(true, importInventory, importFluids, matchBuffer);
     }
 
     protected boolean ignoreTooMuchEnergy() {
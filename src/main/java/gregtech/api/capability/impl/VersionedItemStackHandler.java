@@ -0,0 +1,39 @@
+package gregtech.api.capability.impl;
+
+import gregtech.api.capability.IVersionedHandler;
+import net.minecraftforge.items.ItemStackHandler;
+
+/**
+ * Item stack handler counting modifications of it's contents
+ * Should be used for machine inputs, so recipe logic can skip searching recipes for unchanged inputs
+ */
+public class VersionedItemStackHandler extends ItemStackHandler implements IVersionedHandler {
+
+    private long contentsVersion;
+
+    public VersionedItemStackHandler(int size) {
+        super(size);
+    }
+
+    @Override
+    protected void onContentsChanged(int slot) {
+        super.onContentsChanged(slot);
+        this.contentsVersion++;
+    }
+
+    @Override
+    protected void onLoad() {
+        super.onLoad();
+        this.contentsVersion++;
+    }
+
+    @Override
+    public long getContentsVersion() {
+        return contentsVersion;
+    }
+
+    @Override
+    public void markContentsChanged() {
+        this.contentsVersion++;
+    }
+}
@@ -7,13 +7,16 @@ import gregtech.api.gui.widgets.WidgetUIAccess;
 import gregtech.api.net.NetworkHandler;
 import gregtech.api.net.PacketUIClientAction;
 import gregtech.api.net.PacketUIWidgetUpdate;
+import gregtech.api.net.PacketUIWidgetUpdateBatch;
 import gregtech.api.util.GTUtility;
+import io.netty.buffer.Unpooled;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.inventory.*;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
 
 import java.util.*;
 import java.util.Map.Entry;
@@ -21,12 +24,20 @@ import java.util.stream.Collectors;
 
 public class ModularUIContainer extends Container implements WidgetUIAccess {
 
+    //encoded size of single widget update packet with empty update data, measured on first batch
+    private static int widgetUpdatePacketOverhead = -1;
+    private static long packetsSavedByBatching = 0L;
+    private static long bytesSavedByBatching = 0L;
+
     private final HashMap<Slot, INativeWidget> slotMap = new HashMap<>();
     private final ModularUI modularUI;
 
     public boolean accumulateWidgetUpdateData = false;
     public List<PacketUIWidgetUpdate> accumulatedUpdates = new ArrayList<>();
 
+    private boolean batchWidgetUpdates = false;
+    private final List<PacketUIWidgetUpdate> batchedUpdates = new ArrayList<>();
+
     public ModularUIContainer(ModularUI modularUI) {
         this.modularUI = modularUI;
         modularUI.guiWidgets.values().forEach(widget -> widget.setUiAccess(this));
@@ -40,6 +51,22 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
                 });
     }
 
+    /**
+     * @return amount of widget update packets which were merged into batched ones since server start
+     */
+    public static long getPacketsSavedByBatching() {
+        return packetsSavedByBatching;
+    }
+
+    /**
+     * Measured as encoded size of separate widget update packets minus encoded size of batched packet,
+     * bytes of FML channel framing, which are additionally saved for every merged packet, are not counted
+     * @return amount of payload bytes saved by sending batched widget updates since server start
+     */
+    public static long getBytesSavedByBatching() {
+        return bytesSavedByBatching;
+    }
+
     public ModularUI getModularUI() {
         return modularUI;
     }
@@ -53,7 +80,33 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
     @Override
     public void detectAndSendChanges() {
         super.detectAndSendChanges();
+        //widgets only write updates when their state has changed,
+        //so collect them and send everything changed during this tick in one packet
+        this.batchWidgetUpdates = true;
         modularUI.guiWidgets.values().forEach(Widget::detectAndSendChanges);
+        this.batchWidgetUpdates = false;
+        sendBatchedUpdates();
+    }
+
+    private void sendBatchedUpdates() {
+        if(batchedUpdates.isEmpty()) {
+            return;
+        }
+        if(widgetUpdatePacketOverhead == -1) {
+            PacketUIWidgetUpdate emptyUpdate = new PacketUIWidgetUpdate(windowId, 0, new PacketBuffer(Unpooled.buffer(0)));
+            widgetUpdatePacketOverhead = NetworkHandler.packet2proxy(emptyUpdate).payload().readableBytes();
+        }
+        int separatePacketsSize = 0;
+        for(PacketUIWidgetUpdate widgetUpdate : batchedUpdates) {
+            //widget update codec writes update data as is, so only the rest of packet is measured once
+            separatePacketsSize += widgetUpdate.updateData.readableBytes() + widgetUpdatePacketOverhead;
+        }
+        PacketUIWidgetUpdateBatch updateBatch = new PacketUIWidgetUpdateBatch(windowId, new ArrayList<>(batchedUpdates));
+        FMLProxyPacket proxyPacket = NetworkHandler.packet2proxy(updateBatch);
+        packetsSavedByBatching += batchedUpdates.size() - 1;
+        bytesSavedByBatching += separatePacketsSize - proxyPacket.payload().readableBytes();
+        batchedUpdates.clear();
+        NetworkHandler.channel.sendTo(proxyPacket, (EntityPlayerMP) modularUI.entityPlayer);
     }
 
     @Override
@@ -131,10 +184,12 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
         int widgetId = modularUI.guiWidgets.inverse().get(widget);
         if(modularUI.entityPlayer instanceof EntityPlayerMP) {
             PacketUIWidgetUpdate widgetUpdate = new PacketUIWidgetUpdate(windowId, widgetId, payload);
-            if(!accumulateWidgetUpdateData) {
-                NetworkHandler.channel.sendTo(NetworkHandler.packet2proxy(widgetUpdate), (EntityPlayerMP) modularUI.entityPlayer);
-            } else {
+            if(accumulateWidgetUpdateData) {
                 accumulatedUpdates.add(widgetUpdate);
+            } else if(batchWidgetUpdates) {
+                batchedUpdates.add(widgetUpdate);
+            } else {
+                NetworkHandler.channel.sendTo(NetworkHandler.packet2proxy(widgetUpdate), (EntityPlayerMP) modularUI.entityPlayer);
             }
         }
     }
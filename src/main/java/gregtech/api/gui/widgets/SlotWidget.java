@@ -1,5 +1,6 @@
 package gregtech.api.gui.widgets;
 
+import gregtech.api.capability.IVersionedHandler;
 import gregtech.api.gui.INativeWidget;
 import gregtech.api.gui.Widget;
 import gregtech.api.gui.resources.TextureArea;
@@ -80,6 +81,10 @@ public class SlotWidget extends Widget implements INativeWidget {
     }
 
     public void onSlotChanged() {
+        //slot stack may have been modified in place, bypassing item handler
+        if(itemHandler instanceof IVersionedHandler) {
+            ((IVersionedHandler) itemHandler).markContentsChanged();
+        }
         gui.holder.markAsDirty();
     }
 
@@ -0,0 +1,105 @@
+package gregtech.api.items.toolitem;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import gregtech.api.unification.material.type.Material;
+import gregtech.api.unification.material.type.SolidMaterial;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.common.util.Constants;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * Tool materials and material-dependent stats decoded from "GT.ToolStats" tag of tool stack<p>
+ *
+ * Decoded stats are cached per tag instance and reused while material names stored in tag
+ * and tool stats of the item are unchanged, so materials aren't looked up in material registry
+ * on every block break or rendered frame. Copied stacks have their own tag instance, so they decode stats once again.
+ * Tool damage is stored in the same tag, but is not decoded, so changing it doesn't invalidate cache.
+ */
+public class DecodedToolStats {
+
+    //weak keys are compared by identity, so tags modified in place are still found
+    private static final Cache<NBTTagCompound, DecodedToolStats> DECODED_STATS = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+
+    private final String primaryMaterialName;
+    private final String handleMaterialName;
+    private final IToolStats toolStats;
+
+    @Nullable
+    public final SolidMaterial primaryMaterial;
+    @Nullable
+    public final SolidMaterial handleMaterial;
+    public final int enchantability;
+
+    //stats below are computed only if tool stats are known and primary material is set
+    public final float destroySpeed;
+    public final int harvestLevel;
+    public final int maxInternalDamage;
+
+    private DecodedToolStats(ItemStack itemStack, @Nullable String primaryMaterialName, @Nullable String handleMaterialName, @Nullable IToolStats toolStats) {
+        this.primaryMaterialName = primaryMaterialName;
+        this.handleMaterialName = handleMaterialName;
+        this.toolStats = toolStats;
+        this.primaryMaterial = getSolidMaterial(primaryMaterialName);
+        this.handleMaterial = getSolidMaterial(handleMaterialName);
+        this.enchantability = Math.max(primaryMaterial == null ? 0 : ToolMetaItem.getMaterialEnchantability(primaryMaterial),
+            handleMaterial == null ? 0 : ToolMetaItem.getMaterialEnchantability(handleMaterial));
+        if(toolStats != null && primaryMaterial != null) {
+            this.destroySpeed = primaryMaterial.toolSpeed * toolStats.getDigSpeedMultiplier(itemStack);
+            this.harvestLevel = toolStats.getBaseQuality(itemStack) + primaryMaterial.harvestLevel;
+            this.maxInternalDamage = (int) (primaryMaterial.toolDurability * toolStats.getMaxDurabilityMultiplier(itemStack) * 10);
+        } else {
+            this.destroySpeed = 1.0f;
+            this.harvestLevel = -1;
+            this.maxInternalDamage = 0;
+        }
+    }
+
+    /**
+     * @param toolStats tool stats of the stack item, used to compute material-dependent stats,
+     *                  or null if only materials are needed
+     * @return decoded stats of given tool stack, or null if stack has no tool stats tag
+     */
+    @Nullable
+    public static DecodedToolStats getDecodedStats(ItemStack itemStack, @Nullable IToolStats toolStats) {
+        NBTTagCompound statsTag = itemStack.getSubCompound("GT.ToolStats");
+        if(statsTag == null) {
+            return null;
+        }
+        String primaryMaterialName = getMaterialName(statsTag, "PrimaryMaterial");
+        String handleMaterialName = getMaterialName(statsTag, "HandleMaterial");
+        DecodedToolStats decodedStats = DECODED_STATS.getIfPresent(statsTag);
+        if(decodedStats == null || !decodedStats.isValid(primaryMaterialName, handleMaterialName, toolStats)) {
+            decodedStats = new DecodedToolStats(itemStack, primaryMaterialName, handleMaterialName, toolStats);
+            DECODED_STATS.put(statsTag, decodedStats);
+        }
+        return decodedStats;
+    }
+
+    private boolean isValid(@Nullable String primaryMaterialName, @Nullable String handleMaterialName, @Nullable IToolStats toolStats) {
+        return Objects.equals(this.primaryMaterialName, primaryMaterialName) &&
+            Objects.equals(this.handleMaterialName, handleMaterialName) &&
+            (toolStats == null || this.toolStats == toolStats);
+    }
+
+    @Nullable
+    private static String getMaterialName(NBTTagCompound statsTag, String key) {
+        return statsTag.hasKey(key, Constants.NBT.TAG_STRING) ? statsTag.getString(key) : null;
+    }
+
+    @Nullable
+    private static SolidMaterial getSolidMaterial(@Nullable String materialName) {
+        if(materialName == null)
+            return null;
+        Material material = Material.MATERIAL_REGISTRY.getObject(materialName);
+        if(material instanceof SolidMaterial) {
+            return (SolidMaterial) material;
+        }
+        return null;
+    }
+}
@@ -11,7 +11,6 @@ import gregtech.api.items.metaitem.MetaItem;
 import gregtech.api.items.metaitem.stats.IMetaItemStats;
 import gregtech.api.unification.material.MaterialIconSet;
 import gregtech.api.unification.material.Materials;
-import gregtech.api.unification.material.type.Material;
 import gregtech.api.unification.material.type.SolidMaterial;
 import gregtech.api.unification.stack.SimpleItemStack;
 import gregtech.api.util.GTUtility;
@@ -242,9 +241,9 @@ public class ToolMetaItem<T extends ToolMetaItem<?>.MetaToolValueItem> extends M
         if(metaToolValueItem != null) {
             IToolStats toolStats = metaToolValueItem.getToolStats();
             if(isUsable(stack, toolStats.getToolDamagePerBlockBreak(stack)) && toolStats.isMinableBlock(state, stack)) {
-                SolidMaterial material = getPrimaryMaterial(stack);
-                if (material != null) {
-                    return material.toolSpeed * toolStats.getDigSpeedMultiplier(stack);
+                DecodedToolStats decodedStats = DecodedToolStats.getDecodedStats(stack, toolStats);
+                if (decodedStats != null) {
+                    return decodedStats.destroySpeed;
                 }
             }
         }
@@ -267,9 +266,9 @@ public class ToolMetaItem<T extends ToolMetaItem<?>.MetaToolValueItem> extends M
         if(metaToolValueItem != null) {
             IToolStats toolStats = metaToolValueItem.getToolStats();
             if(isUsable(stack, toolStats.getToolDamagePerBlockBreak(stack)) && toolStats.isMinableBlock(blockState, stack)) {
-                SolidMaterial material = getPrimaryMaterial(stack);
-                if (material != null) {
-                    return toolStats.getBaseQuality(stack) + material.harvestLevel;
+                DecodedToolStats decodedStats = DecodedToolStats.getDecodedStats(stack, toolStats);
+                if (decodedStats != null) {
+                    return decodedStats.harvestLevel;
                 }
             }
         }
@@ -429,13 +428,11 @@ public class ToolMetaItem<T extends ToolMetaItem<?>.MetaToolValueItem> extends M
 
     @Override
     public int getItemEnchantability(ItemStack stack) {
-        SolidMaterial primaryMaterial = getPrimaryMaterial(stack);
-        SolidMaterial handleMaterial = getHandleMaterial(stack);
-        return Math.max(primaryMaterial == null ? 0 : getMaterialEnchantability(primaryMaterial),
-            handleMaterial == null ? 0 : getMaterialEnchantability(handleMaterial));
+        DecodedToolStats decodedStats = DecodedToolStats.getDecodedStats(stack, null);
+        return decodedStats == null ? 0 : decodedStats.enchantability;
     }
 
-    private static int getMaterialEnchantability(SolidMaterial material) {
+    static int getMaterialEnchantability(SolidMaterial material) {
         if(material.materialIconSet == MaterialIconSet.SHINY ||
             material.materialIconSet == MaterialIconSet.RUBY) {
             return 33; //all shiny metals have gold enchantability
@@ -472,9 +469,9 @@ public class ToolMetaItem<T extends ToolMetaItem<?>.MetaToolValueItem> extends M
     public int getMaxInternalDamage(ItemStack itemStack) {
         T metaToolValueItem = getItem(itemStack);
         if (metaToolValueItem != null) {
-            SolidMaterial toolMaterial = getPrimaryMaterial(itemStack);
-            if (toolMaterial != null) {
-                return (int) (toolMaterial.toolDurability * metaToolValueItem.getToolStats().getMaxDurabilityMultiplier(itemStack) * 10);
+            DecodedToolStats decodedStats = DecodedToolStats.getDecodedStats(itemStack, metaToolValueItem.getToolStats());
+            if (decodedStats != null) {
+                return decodedStats.maxInternalDamage;
             }
         }
         return 0;
@@ -497,26 +494,14 @@ public class ToolMetaItem<T extends ToolMetaItem<?>.MetaToolValueItem> extends M
 
     @Nullable
     public static SolidMaterial getPrimaryMaterial(ItemStack itemStack) {
-        NBTTagCompound statsTag = itemStack.getSubCompound("GT.ToolStats");
-        if(statsTag == null || !statsTag.hasKey("PrimaryMaterial", Constants.NBT.TAG_STRING))
-            return null;
-        Material material = Material.MATERIAL_REGISTRY.getObject(statsTag.getString("PrimaryMaterial"));
-        if(material instanceof SolidMaterial) {
-            return (SolidMaterial) material;
-        }
-        return null;
+        DecodedToolStats decodedStats = DecodedToolStats.getDecodedStats(itemStack, null);
+        return decodedStats == null ? null : decodedStats.primaryMaterial;
     }
 
     @Nullable
     public static SolidMaterial getHandleMaterial(ItemStack itemStack) {
-        NBTTagCompound statsTag = itemStack.getSubCompound("GT.ToolStats");
-        if(statsTag == null || !statsTag.hasKey("HandleMaterial", Constants.NBT.TAG_STRING))
-            return null;
-        Material material = Material.MATERIAL_REGISTRY.getObject(statsTag.getString("HandleMaterial"));
-        if(material instanceof SolidMaterial) {
-            return (SolidMaterial) material;
-        }
-        return null;
+        DecodedToolStats decodedStats = DecodedToolStats.getDecodedStats(itemStack, null);
+        return decodedStats == null ? null : decodedStats.handleMaterial;
     }
 
     public class MetaToolValueItem extends MetaValueItem {
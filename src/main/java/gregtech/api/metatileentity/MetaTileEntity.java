@@ -14,13 +14,13 @@ import gregtech.api.capability.impl.ItemHandlerProxy;
 import gregtech.api.gui.ModularUI;
 import gregtech.api.render.Textures;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.NeighborCapabilityCache;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.NonNullList;
@@ -49,6 +49,8 @@ public abstract class MetaTileEntity {
 
     public static final Cuboid6[] FULL_CUBE_COLLISION = new Cuboid6[] {Cuboid6.full};
 
+    private static long skippedUpdates;
+
     public final String metaTileEntityId;
     MetaTileEntityHolder holder;
 
@@ -69,6 +71,12 @@ public abstract class MetaTileEntity {
 
     protected int[] sidedRedstoneOutput = new int[6];
 
+    private final NeighborCapabilityCache neighborCache = new NeighborCapabilityCache();
+
+    private boolean isSleeping;
+    //world time to wake up at, or -1 if sleeping until woken up
+    private long wakeUpTime = -1L;
+
     public MetaTileEntity(String metaTileEntityId) {
         this.metaTileEntityId = metaTileEntityId;
         initializeInventory();
@@ -101,6 +109,70 @@ public abstract class MetaTileEntity {
     public void markDirty() {
         if(holder != null)
             holder.markDirty();
+        //any persistent state change (energy input, settings, facing) can give sleeping machine work to do
+        wakeUp();
+    }
+
+    /**
+     * @return amount of meta tile entity updates skipped on server because meta tile entity was sleeping, since game start
+     */
+    public static long getSkippedUpdates() {
+        return skippedUpdates;
+    }
+
+    public boolean isSleeping() {
+        return isSleeping;
+    }
+
+    /**
+     * Stops updating this meta tile entity until it is woken up by {@link #wakeUp()}, which happens
+     * on neighbour change and {@link #markDirty()}, or until {@link #shouldWakeUp()} returns true
+     * Sleeping isn't saved, so meta tile entities are always updated after loading
+     */
+    protected void sleep() {
+        if(getWorld() != null && !getWorld().isRemote) {
+            this.isSleeping = true;
+            this.wakeUpTime = -1L;
+        }
+    }
+
+    /**
+     * Same as {@link #sleep()}, but also wakes this meta tile entity up after given amount of ticks
+     */
+    protected void sleep(int ticks) {
+        sleep();
+        if(isSleeping) {
+            this.wakeUpTime = getWorld().getTotalWorldTime() + ticks;
+        }
+    }
+
+    public void wakeUp() {
+        this.isSleeping = false;
+    }
+
+    /**
+     * Checked every tick while this meta tile entity is sleeping, so it should be cheap
+     * Use this to wake up on changes which don't pass through this meta tile entity, like inventory contents
+     * @return true if this meta tile entity should be woken up and updated this tick
+     */
+    protected boolean shouldWakeUp() {
+        return false;
+    }
+
+    /**
+     * Wakes up this meta tile entity if it is time to
+     * @return true if this meta tile entity is awake and should be updated this tick
+     */
+    final boolean checkAwake() {
+        if(!isSleeping) {
+            return true;
+        }
+        if((wakeUpTime != -1L && getWorld().getTotalWorldTime() >= wakeUpTime) || shouldWakeUp()) {
+            wakeUp();
+            return true;
+        }
+        skippedUpdates++;
+        return false;
     }
 
     public long getTimer() {
@@ -506,8 +578,7 @@ public abstract class MetaTileEntity {
 
     public void pushFluidsIntoNearbyHandlers(EnumFacing... allowedFaces) {
         for(EnumFacing nearbyFacing : allowedFaces) {
-            IFluidHandler fluidHandler = FluidUtil.getFluidHandler(getWorld(),
-                getPos().offset(nearbyFacing), nearbyFacing.getOpposite());
+            IFluidHandler fluidHandler = getNeighborCapability(nearbyFacing, CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY);
             if(fluidHandler == null) continue;
             for(int tankIndex = 0; tankIndex < exportFluids.getTanks(); tankIndex++) {
                 IFluidTank tank = exportFluids.getTankAt(tankIndex);
@@ -522,9 +593,7 @@ public abstract class MetaTileEntity {
 
     public void pushItemsIntoNearbyHandlers(EnumFacing... allowedFaces) {
         for(EnumFacing nearbyFacing : allowedFaces) {
-            TileEntity tileEntity = getWorld().getTileEntity(getPos().offset(nearbyFacing));
-            if(tileEntity == null) continue;
-            IItemHandler itemHandler = tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, nearbyFacing.getOpposite());
+            IItemHandler itemHandler = getNeighborCapability(nearbyFacing, CapabilityItemHandler.ITEM_HANDLER_CAPABILITY);
             if(itemHandler == null) continue;
             for(int slotIndex = 0; slotIndex < exportItems.getSlots(); slotIndex++) {
                 ItemStack stackInSlot = exportItems.getStackInSlot(slotIndex);
@@ -543,9 +612,7 @@ public abstract class MetaTileEntity {
 
     public void pullItemsFromNearbyHandlers(EnumFacing... allowedFaces) {
         for(EnumFacing nearbyFacing : allowedFaces) {
-            TileEntity tileEntity = getWorld().getTileEntity(getPos().offset(nearbyFacing));
-            if(tileEntity == null) continue;
-            IItemHandler itemHandler = tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, nearbyFacing.getOpposite());
+            IItemHandler itemHandler = getNeighborCapability(nearbyFacing, CapabilityItemHandler.ITEM_HANDLER_CAPABILITY);
             if(itemHandler == null) continue;
             for(int slotIndex = 0; slotIndex < itemHandler.getSlots(); slotIndex++) {
                 ItemStack stackInSlot = itemHandler.extractItem(slotIndex, itemHandler.getSlotLimit(slotIndex), true);
@@ -628,6 +695,8 @@ public abstract class MetaTileEntity {
             markDirty();
             writeCustomData(-1, buf -> buf.writeByte(frontFacing.getIndex()));
             mteTraits.forEach(trait -> trait.onFrontFacingSet(frontFacing));
+            //capabilities exposed to neighbours can depend on facing
+            getWorld().notifyNeighborsOfStateChange(getPos(), holder.getBlockType(), false);
         }
     }
 
@@ -670,6 +739,31 @@ public abstract class MetaTileEntity {
     public void onRemoval() {
     }
 
+    /**
+     * Called when tile entity holding this meta tile entity is unloaded together with it's chunk
+     */
+    public void onUnload() {
+        neighborCache.invalidate();
+    }
+
+    /**
+     * Called when block adjacent to this meta tile entity changes
+     */
+    public void onNeighborChanged() {
+        neighborCache.invalidate();
+        wakeUp();
+    }
+
+    /**
+     * Returns capability of adjacent tile entity, cached until neighbour block changes
+     * @param side side of this meta tile entity neighbour is located at
+     * @return capability exposed by neighbour on opposite side, or null if neighbour is not loaded or doesn't have it
+     */
+    @Nullable
+    public <T> T getNeighborCapability(EnumFacing side, Capability<T> capability) {
+        return neighborCache.getNeighborCapability(getWorld(), getPos(), side, capability);
+    }
+
     public EnumFacing getFrontFacing() {
         return frontFacing;
     }
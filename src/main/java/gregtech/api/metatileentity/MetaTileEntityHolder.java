@@ -28,6 +28,8 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
 
     private MetaTileEntity metaTileEntity;
     private boolean needToUpdateLightning = false;
+    //world time when last entry was added to block update packet entries
+    private long blockUpdateTime = -1L;
 
     public MetaTileEntity getMetaTileEntity() {
         return metaTileEntity;
@@ -50,7 +52,7 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
             });
             //just to update neighbours so cables and other things will work properly
             this.needToUpdateLightning = true;
-            world.neighborChanged(getPos(), getBlockType(), getPos());
+            world.notifyNeighborsOfStateChange(getPos(), getBlockType(), false);
             markDirty();
         }
         return metaTileEntity;
@@ -115,7 +117,7 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
 
     @Override
     public void update() {
-        if(metaTileEntity != null) {
+        if(metaTileEntity != null && metaTileEntity.checkAwake()) {
             metaTileEntity.update();
         }
         if(this.needToUpdateLightning) {
@@ -127,6 +129,14 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
         super.update();
     }
 
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if(metaTileEntity != null) {
+            metaTileEntity.onUnload();
+        }
+    }
+
     public void writeInitialSyncData(PacketBuffer buf) {
         if(metaTileEntity != null) {
             buf.writeBoolean(true);
@@ -180,6 +190,13 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
     private final List<UpdateEntry> updateEntries = new ArrayList<>();
 
     public void writeCustomData(int discriminator, Consumer<PacketBuffer> dataWriter) {
+        //meta tile entity creation is sent with block update packet, so client receives it after block change,
+        //data written in the same tick follows it there, otherwise client could receive data before creation
+        if(discriminator != -100000 && (updateEntries.isEmpty() || blockUpdateTime != world.getTotalWorldTime())) {
+            MetaTileEntityUpdateQueue.writeCustomData(this, discriminator, dataWriter);
+            return;
+        }
+        this.blockUpdateTime = world.getTotalWorldTime();
         ByteBuf backedBuffer = Unpooled.buffer();
         dataWriter.accept(new PacketBuffer(backedBuffer));
         byte[] updateData = Arrays.copyOfRange(backedBuffer.array(), 0, backedBuffer.writerIndex());
@@ -0,0 +1,175 @@
+package gregtech.api.metatileentity;
+
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gregtech.api.net.PacketMetaTileEntityUpdates;
+import gregtech.common.ConfigHolder;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketUpdateTileEntity;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent;
+import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Collects meta tile entity custom data written during world tick and sends it
+ * at the end of the tick as single {@link PacketMetaTileEntityUpdates} per chunk to players watching that chunk<p>
+ *
+ * Custom data is written directly into chunk buffer as block position, discriminator as varint,
+ * payload length as int and payload itself, so no block updates or NBT tags are involved.
+ * Updates of chunks not sent to any player are dropped, because these players will receive
+ * full meta tile entity state when chunk is sent to them.
+ */
+public class MetaTileEntityUpdateQueue {
+
+    private static final Map<World, TLongObjectMap<PacketBuffer>> PENDING_UPDATES = new WeakHashMap<>();
+
+    private static long updatesWritten;
+    private static long bytesSent;
+    private static long legacyBytesEquivalent;
+
+    private MetaTileEntityUpdateQueue() {
+    }
+
+    /**
+     * @return amount of custom data entries written on server since game start
+     */
+    public static long getUpdatesWritten() {
+        return updatesWritten;
+    }
+
+    /**
+     * @return amount of encoded packet payload bytes sent to clients since game start,
+     * packet sent to multiple players watching chunk is counted once
+     */
+    public static long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Counted only while {@link ConfigHolder#debug} is enabled, because it encodes every update second time
+     * @return amount of bytes the same updates would take if they were sent as NBT in {@link SPacketUpdateTileEntity}
+     * per meta tile entity, like before batching, counted same way as {@link #getBytesSent()}
+     */
+    public static long getLegacyBytesEquivalent() {
+        return legacyBytesEquivalent;
+    }
+
+    public static void writeCustomData(MetaTileEntityHolder holder, int discriminator, Consumer<PacketBuffer> dataWriter) {
+        World world = holder.getWorld();
+        if(world.isRemote) return;
+        BlockPos pos = holder.getPos();
+        TLongObjectMap<PacketBuffer> chunkUpdates = PENDING_UPDATES.computeIfAbsent(world, k -> new TLongObjectHashMap<>());
+        long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        PacketBuffer updateData = chunkUpdates.get(chunkKey);
+        if(updateData == null) {
+            updateData = new PacketBuffer(Unpooled.buffer());
+            chunkUpdates.put(chunkKey, updateData);
+        }
+        updateData.writeLong(pos.toLong());
+        updateData.writeVarInt(discriminator);
+        //payload length is written after payload, when it is known
+        int lengthIndex = updateData.writerIndex();
+        updateData.writeInt(0);
+        dataWriter.accept(updateData);
+        updateData.setInt(lengthIndex, updateData.writerIndex() - lengthIndex - 4);
+        updatesWritten++;
+    }
+
+    @SideOnly(Side.CLIENT)
+    public static void receiveUpdates(World world, PacketBuffer updateData) {
+        while(updateData.isReadable()) {
+            BlockPos pos = BlockPos.fromLong(updateData.readLong());
+            int discriminator = updateData.readVarInt();
+            //slice so meta tile entity reading less or more than was written doesn't break following entries
+            PacketBuffer entryData = new PacketBuffer(updateData.readSlice(updateData.readInt()));
+            TileEntity tileEntity = world.getTileEntity(pos);
+            if(tileEntity instanceof MetaTileEntityHolder) {
+                ((MetaTileEntityHolder) tileEntity).receiveCustomData(discriminator, entryData);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(WorldTickEvent event) {
+        if(event.phase != Phase.END || event.side != Side.SERVER)
+            return;
+        TLongObjectMap<PacketBuffer> chunkUpdates = PENDING_UPDATES.get(event.world);
+        if(chunkUpdates == null || chunkUpdates.isEmpty())
+            return;
+        WorldServer world = (WorldServer) event.world;
+        TLongObjectIterator<PacketBuffer> iterator = chunkUpdates.iterator();
+        while(iterator.hasNext()) {
+            iterator.advance();
+            long chunkKey = iterator.key();
+            PlayerChunkMapEntry chunkEntry = world.getPlayerChunkMap().getEntry((int) chunkKey, (int) (chunkKey >> 32));
+            if(chunkEntry != null && chunkEntry.isSentToPlayers()) {
+                PacketBuffer updateData = iterator.value();
+                if(ConfigHolder.debug) {
+                    legacyBytesEquivalent += getLegacyPacketsSize(updateData);
+                }
+                FMLProxyPacket updatesPacket = new PacketMetaTileEntityUpdates(updateData).toFMLPacket();
+                bytesSent += updatesPacket.payload().readableBytes();
+                chunkEntry.sendPacket(updatesPacket);
+            }
+        }
+        chunkUpdates.clear();
+    }
+
+    /**
+     * Encodes entries of given chunk buffer as tile entity update packets previously sent by {@link MetaTileEntityHolder}
+     * @return total size of these packets, including packet id
+     */
+    private static int getLegacyPacketsSize(PacketBuffer updateData) {
+        Map<BlockPos, NBTTagList> entriesByPos = new HashMap<>();
+        int readerIndex = updateData.readerIndex();
+        while(updateData.isReadable()) {
+            BlockPos pos = BlockPos.fromLong(updateData.readLong());
+            NBTTagCompound entryTag = new NBTTagCompound();
+            entryTag.setInteger("id", updateData.readVarInt());
+            byte[] entryData = new byte[updateData.readInt()];
+            updateData.readBytes(entryData);
+            entryTag.setByteArray("data", entryData);
+            entriesByPos.computeIfAbsent(pos, k -> new NBTTagList()).appendTag(entryTag);
+        }
+        updateData.readerIndex(readerIndex);
+        int packetsSize = 0;
+        PacketBuffer packetBuffer = new PacketBuffer(Unpooled.buffer());
+        for(Entry<BlockPos, NBTTagList> entry : entriesByPos.entrySet()) {
+            NBTTagCompound updateTag = new NBTTagCompound();
+            updateTag.setTag("data", entry.getValue());
+            //same fields as SPacketUpdateTileEntity.writePacketData writes
+            packetBuffer.clear();
+            packetBuffer.writeVarInt(0x09);
+            packetBuffer.writeBlockPos(entry.getKey());
+            packetBuffer.writeByte(0);
+            packetBuffer.writeCompoundTag(updateTag);
+            packetsSize += packetBuffer.readableBytes();
+        }
+        return packetsSize;
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        PENDING_UPDATES.remove(event.getWorld());
+    }
+}
@@ -5,6 +5,7 @@ import codechicken.lib.render.pipeline.IVertexOperation;
 import codechicken.lib.vec.Matrix4;
 import gregtech.api.capability.impl.EnergyContainerHandler;
 import gregtech.api.capability.impl.FluidHandlerProxy;
+import gregtech.api.capability.impl.FluidTankList;
 import gregtech.api.gui.GuiTextures;
 import gregtech.api.gui.ModularUI;
 import gregtech.api.gui.widgets.ButtonWidget;
@@ -23,6 +24,7 @@ import net.minecraft.util.EnumHand;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.fluids.IFluidTank;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fml.relauncher.Side;
@@ -45,6 +47,12 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity {
             public int getSlotLimit(int slot) {
                 return 1;
             }
+
+            @Override
+            protected void onContentsChanged(int slot) {
+                super.onContentsChanged(slot);
+                wakeUp();
+            }
         };
     }
 
@@ -94,7 +102,33 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity {
                     pushItemsIntoNearbyHandlers(outputFacing);
                 }
             }
+            if(canSleep()) {
+                sleep();
+            }
+        }
+    }
+
+    /**
+     * @return true if machine has no recipe to work on, nothing to discharge and nothing to output
+     */
+    protected boolean canSleep() {
+        return workable.isIdle() && chargerInventory.getStackInSlot(0).isEmpty() &&
+            (!autoOutputItems || isItemHandlerEmpty(exportItems)) &&
+            (!autoOutputFluids || isFluidTankListEmpty(exportFluids));
+    }
+
+    private static boolean isFluidTankListEmpty(FluidTankList fluidTankList) {
+        for(IFluidTank fluidTank : fluidTankList) {
+            if(fluidTank.getFluidAmount() > 0)
+                return false;
         }
+        return true;
+    }
+
+    @Override
+    protected boolean shouldWakeUp() {
+        //inputs are changed by other blocks and players without notifying machine
+        return !workable.isIdle();
     }
 
     //OUTPUT TANKS OVERRIDE MANAGEMENT MECHANISM
@@ -7,6 +7,7 @@ import gregtech.api.GTValues;
 import gregtech.api.capability.impl.EnergyRecipeMapWorkableHandler;
 import gregtech.api.capability.impl.FilteredFluidHandler;
 import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.capability.impl.VersionedItemStackHandler;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.render.OrientedOverlayRenderer;
@@ -51,7 +52,7 @@ public abstract class WorkableTieredMetaTileEntity extends TieredMetaTileEntity
     @Override
     protected IItemHandlerModifiable createImportItemHandler() {
         if(workable == null) return new ItemStackHandler(0);
-        return new ItemStackHandler(workable.recipeMap.getMaxInputs());
+        return new VersionedItemStackHandler(workable.recipeMap.getMaxInputs());
     }
 
     @Override
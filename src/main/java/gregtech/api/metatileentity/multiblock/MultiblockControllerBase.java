@@ -3,6 +3,8 @@ package gregtech.api.metatileentity.multiblock;
 import codechicken.lib.render.CCRenderState;
 import codechicken.lib.render.pipeline.IVertexOperation;
 import codechicken.lib.vec.Matrix4;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.metatileentity.MetaTileEntityHolder;
 import gregtech.api.multiblock.BlockPattern;
@@ -29,6 +31,8 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
     private final Map<MultiblockAbility<Object>, List<Object>> multiblockAbilities = new HashMap<>();
     private final List<IMultiblockPart> multiblockParts = new ArrayList<>();
     private boolean structureFormed;
+    private boolean structureDirty = true;
+    private final TLongSet watchedPositions = new TLongHashSet();
 
     public MultiblockControllerBase(String metaTileEntityId) {
         super(metaTileEntityId);
@@ -37,13 +41,17 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
 
     protected void reinitializeStructurePattern() {
         this.structurePattern = createStructurePattern();
+        this.structureDirty = true;
     }
 
     @Override
     public void update() {
         super.update();
         if(!getWorld().isRemote) {
-            if(getTimer() % 20 == 0) {
+            //block changes made without notifying world listeners are never reported by world index,
+            //so structure is still rechecked unconditionally from time to time
+            if((structureDirty && getTimer() % 20 == 0) || getTimer() % 400 == 0) {
+                this.structureDirty = false;
                 checkStructurePattern();
             }
             if(isStructureFormed()) {
@@ -52,6 +60,14 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
         }
     }
 
+    /**
+     * Marks structure as requiring check on next structure check tick
+     * Called by {@link MultiblockWorldIndex} when block covered by structure pattern changes
+     */
+    public void markStructureDirty() {
+        this.structureDirty = true;
+    }
+
     /**
      * Called when the multiblock is formed and validation predicate is matched
      */
@@ -131,7 +147,11 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
 
     protected void checkStructurePattern() {
         EnumFacing facing = getFrontFacing().getOpposite();
-        PatternMatchContext context = structurePattern.checkPatternAt(getWorld(), getPos(), facing);
+        MultiblockWorldIndex worldIndex = MultiblockWorldIndex.getWorldIndex(getWorld());
+        worldIndex.removeController(this, watchedPositions);
+        this.watchedPositions.clear();
+        PatternMatchContext context = structurePattern.checkPatternAt(getWorld(), getPos(), facing, watchedPositions);
+        worldIndex.addController(this, watchedPositions);
         if(context != null && !structureFormed) {
             Set<IMultiblockPart> parts = context.get("MultiblockParts", HashSet::new);
             for(IMultiblockPart part : parts) {
@@ -167,18 +187,49 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
     }
 
     public void invalidateStructure() {
-        this.multiblockParts.forEach(part -> part.removeFromMultiBlock(this));
+        releaseMultiblockParts();
         this.multiblockAbilities.clear();
         this.multiblockParts.clear();
         this.structureFormed = false;
         writeCustomData(-400, buf -> buf.writeBoolean(false));
     }
 
+    private void releaseMultiblockParts() {
+        MultiblockWorldIndex worldIndex = MultiblockWorldIndex.getWorldIndex(getWorld());
+        for(IMultiblockPart part : multiblockParts) {
+            part.removeFromMultiBlock(this);
+            //other controllers may have failed to form because of this part being attached here
+            if(part instanceof MetaTileEntity) {
+                worldIndex.markPositionChanged(((MetaTileEntity) part).getPos());
+            }
+        }
+    }
+
+    @Override
+    public void setFrontFacing(EnumFacing frontFacing) {
+        super.setFrontFacing(frontFacing);
+        this.structureDirty = true;
+    }
+
     @Override
     public void onRemoval() {
         super.onRemoval();
-        if(!getWorld().isRemote && structureFormed) {
-            this.multiblockParts.forEach(part -> part.removeFromMultiBlock(this));
+        if(!getWorld().isRemote) {
+            MultiblockWorldIndex.getWorldIndex(getWorld()).removeController(this, watchedPositions);
+            this.watchedPositions.clear();
+            if(structureFormed) {
+                releaseMultiblockParts();
+            }
+        }
+    }
+
+    @Override
+    public void onUnload() {
+        super.onUnload();
+        if(!getWorld().isRemote) {
+            MultiblockWorldIndex.getWorldIndex(getWorld()).removeController(this, watchedPositions);
+            this.watchedPositions.clear();
+            this.structureDirty = true;
         }
     }
 
@@ -0,0 +1,141 @@
+package gregtech.api.metatileentity.multiblock;
+
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-world index of block positions covered by multiblock structure patterns<p>
+ *
+ * Every controller registers positions read during its last structure check,
+ * and is marked dirty only when block state at one of these positions changes,
+ * so structure is not rechecked while nothing around it changes.
+ */
+public class MultiblockWorldIndex implements IWorldEventListener {
+
+    private static final Map<World, MultiblockWorldIndex> WORLD_INDEXES = new WeakHashMap<>();
+
+    private final TLongObjectMap<List<MultiblockControllerBase>> controllersByPos = new TLongObjectHashMap<>();
+
+    public static MultiblockWorldIndex getWorldIndex(World world) {
+        MultiblockWorldIndex worldIndex = WORLD_INDEXES.get(world);
+        if(worldIndex == null) {
+            worldIndex = new MultiblockWorldIndex();
+            WORLD_INDEXES.put(world, worldIndex);
+            world.addEventListener(worldIndex);
+        }
+        return worldIndex;
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        MultiblockWorldIndex worldIndex = WORLD_INDEXES.remove(event.getWorld());
+        if(worldIndex != null) {
+            event.getWorld().removeEventListener(worldIndex);
+        }
+    }
+
+    public void addController(MultiblockControllerBase controller, TLongSet watchedPositions) {
+        TLongIterator iterator = watchedPositions.iterator();
+        while(iterator.hasNext()) {
+            long blockPos = iterator.next();
+            List<MultiblockControllerBase> controllers = controllersByPos.get(blockPos);
+            if(controllers == null) {
+                controllers = new ArrayList<>(1);
+                controllersByPos.put(blockPos, controllers);
+            }
+            controllers.add(controller);
+        }
+    }
+
+    public void removeController(MultiblockControllerBase controller, TLongSet watchedPositions) {
+        TLongIterator iterator = watchedPositions.iterator();
+        while(iterator.hasNext()) {
+            long blockPos = iterator.next();
+            List<MultiblockControllerBase> controllers = controllersByPos.get(blockPos);
+            if(controllers == null) continue;
+            controllers.remove(controller);
+            if(controllers.isEmpty()) {
+                controllersByPos.remove(blockPos);
+            }
+        }
+    }
+
+    /**
+     * Marks all controllers watching given position as requiring structure check
+     */
+    public void markPositionChanged(BlockPos blockPos) {
+        List<MultiblockControllerBase> controllers = controllersByPos.get(blockPos.toLong());
+        if(controllers != null) {
+            controllers.forEach(MultiblockControllerBase::markStructureDirty);
+        }
+    }
+
+    @Override
+    public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+        if(oldState != newState) {
+            markPositionChanged(pos);
+        }
+    }
+
+    @Override
+    public void notifyLightSet(BlockPos pos) {
+    }
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+    }
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch) {
+    }
+
+    @Override
+    public void playRecord(SoundEvent soundIn, BlockPos pos) {
+    }
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+    }
+
+    @Override
+    public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+    }
+
+    @Override
+    public void onEntityAdded(Entity entityIn) {
+    }
+
+    @Override
+    public void onEntityRemoved(Entity entityIn) {
+    }
+
+    @Override
+    public void broadcastSound(int soundID, BlockPos pos, int data) {
+    }
+
+    @Override
+    public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data) {
+    }
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+    }
+}
@@ -1,13 +1,15 @@
 package gregtech.api.multiblock;
 
+import gnu.trove.set.TLongSet;
 import gregtech.api.util.IntRange;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.World;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
+import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -22,9 +24,18 @@ public class BlockPattern {
     private final int[][] aisleRepetitions;
     private final List<Pair<Predicate<BlockWorldState>, IntRange>> countMatches;
 
-    private static final EnumFacing[] ALLOWED_FACINGS = EnumFacing.HORIZONTALS;
     // x, y, z, minZ, maxZ
     private int[] centerOffset = null;
+    //[horizontal facing index][cell index * 3 + axis], cells are ordered same way as in single aisle
+    private final int[][] cellOffsets = new int[4][];
+    //[horizontal facing index][axis], offset of aisle direction
+    private final int[][] aisleOffsets = new int[4][];
+
+    //scratch state reused between checks, patterns are created per controller
+    private final BlockWorldState worldState = new BlockWorldState();
+    private final MutableBlockPos blockPos = new MutableBlockPos();
+    private final PatternMatchContext matchContext = new PatternMatchContext();
+    private final int[] countMatchesCache;
 
     public BlockPattern(Predicate<BlockWorldState>[][][] predicatesIn, List<Pair<Predicate<BlockWorldState>, IntRange>> countMatches, RelativeDirection[] structureDir, int[][] aisleRepetitions) {
         this.blockMatches = predicatesIn;
@@ -46,7 +57,10 @@ public class BlockPattern {
         this.structureDir = structureDir;
         this.aisleRepetitions = aisleRepetitions;
 
+        this.countMatchesCache = new int[countMatches.size()];
+
         initializeCenterOffsets();
+        initializeOffsetTables();
     }
 
     private void initializeCenterOffsets() {
@@ -79,22 +93,39 @@ public class BlockPattern {
     }
 
     public PatternMatchContext checkPatternAt(World world, BlockPos centerPos, EnumFacing facing) {
-        BlockWorldState worldState = new BlockWorldState();
-        MutableBlockPos blockPos = new MutableBlockPos();
-        PatternMatchContext matchContext = new PatternMatchContext();
-        int[] countMatchesCache = new int[countMatches.size()];
+        return checkPatternAt(world, centerPos, facing, null);
+    }
+
+    /**
+     * Checks pattern at given position, additionally recording positions of all blocks read
+     * during the check into given set, so caller can track changes that may affect the result
+     * Returned context is owned by this pattern and is reset by the next check
+     */
+    public PatternMatchContext checkPatternAt(World world, BlockPos centerPos, EnumFacing facing, @Nullable TLongSet checkedPositions) {
+        if (facing.getHorizontalIndex() == -1) throw new IllegalArgumentException("Can rotate only horizontally");
+        int[] cellOffsets = this.cellOffsets[facing.getHorizontalIndex()];
+        int[] aisleOffset = this.aisleOffsets[facing.getHorizontalIndex()];
+        BlockWorldState worldState = this.worldState;
+        MutableBlockPos blockPos = this.blockPos;
+        PatternMatchContext matchContext = this.matchContext;
+        int[] countMatchesCache = this.countMatchesCache;
+        matchContext.reset();
+        Arrays.fill(countMatchesCache, 0);
         boolean findFirstAisle = false;
         int minZ = -centerOffset[4];
         for (int c = 0, z = minZ++, r; c < this.fingerLength; c++) {
             loop: for (r = 0; (findFirstAisle ? r < aisleRepetitions[c][1] : z <= -centerOffset[3]); r++) {//Checking repeatable slices
-                for (int b = 0, y = -centerOffset[1]; b < this.thumbLength; b++, y++) {//Checking single slice
-                    for (int a = 0, x = -centerOffset[0]; a < this.palmLength; a++, x++) {
+                int aisleX = centerPos.getX() + z * aisleOffset[0];
+                int aisleY = centerPos.getY() + z * aisleOffset[1];
+                int aisleZ = centerPos.getZ() + z * aisleOffset[2];
+                for (int b = 0, cell = 0; b < this.thumbLength; b++) {//Checking single slice
+                    for (int a = 0; a < this.palmLength; a++, cell += 3) {
                         Predicate<BlockWorldState> predicate = this.blockMatches[c][b][a];
-                        setActualRelativeOffset(blockPos, x, y, z, facing);
-                        blockPos.setPos(blockPos.getX() + centerPos.getX(), blockPos.getY() + centerPos.getY(), blockPos.getZ() + centerPos.getZ());
-                        worldState.update(world, blockPos, matchContext);
-
-                        worldState.update(world, blockPos, matchContext);
+                        blockPos.setPos(aisleX + cellOffsets[cell], aisleY + cellOffsets[cell + 1], aisleZ + cellOffsets[cell + 2]);
+                        worldState.update(world, blockPos, matchContext, checkedPositions);
+                        if (checkedPositions != null) {
+                            checkedPositions.add(blockPos.toLong());
+                        }
                         if (!predicate.test(worldState)) {
                             if (findFirstAisle) {
                                 if (r < aisleRepetitions[c][0]) {//retreat to see if the first aisle can start later
@@ -133,21 +164,28 @@ public class BlockPattern {
         return matchContext;
     }
 
-    private MutableBlockPos setActualRelativeOffset(MutableBlockPos pos, int x, int y, int z, EnumFacing facing) {
-        if (!ArrayUtils.contains(ALLOWED_FACINGS, facing)) throw new IllegalArgumentException("Can rotate only horizontally");
-
-        int[] c0 = new int[]{x, y, z}, c1 = new int[3];
-        for (int i = 0; i < 3; i++) {
-            switch (structureDir[i].getActualFacing(facing)) {
-                case UP: c1[1] = c0[i]; break;
-                case DOWN: c1[1] = -c0[i]; break;
-                case WEST: c1[0] = -c0[i]; break;
-                case EAST: c1[0] = c0[i]; break;
-                case NORTH: c1[2] = -c0[i]; break;
-                case SOUTH: c1[2] = c0[i]; break;
+    /**
+     * Computes world offsets of every cell of single aisle relative to the center,
+     * and offset of one aisle step, for every horizontal facing
+     */
+    private void initializeOffsetTables() {
+        for (EnumFacing facing : EnumFacing.HORIZONTALS) {
+            int[][] axisOffsets = new int[3][];
+            for (int i = 0; i < 3; i++) {
+                EnumFacing actualFacing = structureDir[i].getActualFacing(facing);
+                axisOffsets[i] = new int[]{actualFacing.getFrontOffsetX(), actualFacing.getFrontOffsetY(), actualFacing.getFrontOffsetZ()};
+            }
+            int[] cellOffsets = new int[this.thumbLength * this.palmLength * 3];
+            for (int b = 0, y = -centerOffset[1], cell = 0; b < this.thumbLength; b++, y++) {
+                for (int a = 0, x = -centerOffset[0]; a < this.palmLength; a++, x++, cell += 3) {
+                    for (int i = 0; i < 3; i++) {
+                        cellOffsets[cell + i] = x * axisOffsets[0][i] + y * axisOffsets[1][i];
+                    }
+                }
             }
+            this.cellOffsets[facing.getHorizontalIndex()] = cellOffsets;
+            this.aisleOffsets[facing.getHorizontalIndex()] = axisOffsets[2];
         }
-        return pos.setPos(c1[0], c1[1], c1[2]);
     }
 
     /**
@@ -1,5 +1,6 @@
 package gregtech.api.multiblock;
 
+import gnu.trove.set.TLongSet;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
@@ -18,12 +19,19 @@ public class BlockWorldState {
     private TileEntity tileEntity;
     private boolean tileEntityInitialized;
     private PatternMatchContext matchContext;
+    //positions read during pattern check, including neighbours read by predicates, or null if they aren't tracked
+    private TLongSet checkedPositions;
 
     public static IPatternCenterPredicate wrap(Predicate<BlockWorldState> predicate) {
         return predicate::test;
     }
 
     public void update(World worldIn, BlockPos posIn, PatternMatchContext matchContext) {
+        update(worldIn, posIn, matchContext, null);
+    }
+
+    public void update(World worldIn, BlockPos posIn, PatternMatchContext matchContext, @Nullable TLongSet checkedPositions) {
+        this.checkedPositions = checkedPositions;
         this.world = worldIn;
         this.pos = posIn;
         this.state = null;
@@ -61,11 +69,18 @@ public class BlockWorldState {
     public IBlockState getOffsetState(EnumFacing face) {
         if(pos instanceof MutableBlockPos) {
             ((MutableBlockPos) pos).move(face);
+            if(checkedPositions != null) {
+                checkedPositions.add(pos.toLong());
+            }
             IBlockState blockState = world.getBlockState(pos);
             ((MutableBlockPos) pos).move(face.getOpposite());
             return blockState;
         }
-        return world.getBlockState(this.pos.offset(face));
+        BlockPos offsetPos = this.pos.offset(face);
+        if(checkedPositions != null) {
+            checkedPositions.add(offsetPos.toLong());
+        }
+        return world.getBlockState(offsetPos);
     }
 
 }
@@ -5,9 +5,11 @@ import gregtech.api.gui.ModularUI;
 import gregtech.api.gui.UIFactory;
 import gregtech.api.gui.impl.ModularUIContainer;
 import gregtech.api.gui.impl.ModularUIGui;
+import gregtech.api.metatileentity.MetaTileEntityUpdateQueue;
 import gregtech.api.util.GTLog;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.network.NetHandlerPlayClient;
 import net.minecraft.inventory.Container;
 import net.minecraft.network.INetHandler;
@@ -162,6 +164,44 @@ public class NetworkHandler {
             }
         ));
 
+        registerPacket(4, PacketUIWidgetUpdateBatch.class, new PacketCodec<>(
+            (packet, buf) -> {
+                buf.writeVarInt(packet.windowId);
+                buf.writeVarInt(packet.widgetUpdates.size());
+                for(PacketUIWidgetUpdate widgetUpdate : packet.widgetUpdates) {
+                    buf.writeVarInt(widgetUpdate.widgetId);
+                    buf.writeVarInt(widgetUpdate.updateData.readableBytes());
+                    buf.writeBytes(widgetUpdate.updateData);
+                }
+            },
+            (buf) -> {
+                int windowId = buf.readVarInt();
+                int widgetUpdatesCount = buf.readVarInt();
+                ArrayList<PacketUIWidgetUpdate> widgetUpdates = new ArrayList<>(widgetUpdatesCount);
+                for(int i = 0; i < widgetUpdatesCount; i++) {
+                    int widgetId = buf.readVarInt();
+                    ByteBuf directSliceBuffer = buf.readBytes(buf.readVarInt());
+                    ByteBuf copiedDataBuffer = Unpooled.copiedBuffer(directSliceBuffer);
+                    directSliceBuffer.release();
+                    widgetUpdates.add(new PacketUIWidgetUpdate(windowId, widgetId, new PacketBuffer(copiedDataBuffer)));
+                }
+                return new PacketUIWidgetUpdateBatch(windowId, widgetUpdates);
+            }
+        ));
+
+        registerPacket(5, PacketMetaTileEntityUpdates.class, new PacketCodec<>(
+            (packet, buf) -> {
+                buf.writeVarInt(packet.updateData.readableBytes());
+                buf.writeBytes(packet.updateData);
+            },
+            (buf) -> {
+                ByteBuf directSliceBuffer = buf.readBytes(buf.readVarInt());
+                ByteBuf copiedDataBuffer = Unpooled.copiedBuffer(directSliceBuffer);
+                directSliceBuffer.release();
+                return new PacketMetaTileEntityUpdates(new PacketBuffer(copiedDataBuffer));
+            }
+        ));
+
         registerServerExecutor(PacketUIClientAction.class, (packet, handler) -> {
             Container openContainer = handler.player.openContainer;
             if(openContainer instanceof ModularUIContainer &&
@@ -190,6 +230,11 @@ public class NetworkHandler {
         });
         registerClientExecutor(PacketUIWidgetUpdate.class, (packet, handler) ->
             ModularUIGui.addWidgetUpdate(packet));
+        registerClientExecutor(PacketUIWidgetUpdateBatch.class, (packet, handler) ->
+            packet.widgetUpdates.forEach(ModularUIGui::addWidgetUpdate));
+        registerClientExecutor(PacketMetaTileEntityUpdates.class, (packet, handler) ->
+            Minecraft.getMinecraft().addScheduledTask(() ->
+                MetaTileEntityUpdateQueue.receiveUpdates(Minecraft.getMinecraft().world, packet.updateData)));
     }
 
     public static <T extends Packet> void registerPacket(int packetId, Class<T> packetClass, PacketCodec<T> codec) {
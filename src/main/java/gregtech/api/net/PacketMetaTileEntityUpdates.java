@@ -0,0 +1,16 @@
+package gregtech.api.net;
+
+import net.minecraft.network.PacketBuffer;
+
+/**
+ * Carries custom data written by all meta tile entities of single chunk during one tick
+ * Update data is read entry by entry until it ends, see {@link gregtech.api.metatileentity.MetaTileEntityUpdateQueue}
+ */
+public class PacketMetaTileEntityUpdates implements NetworkHandler.Packet {
+
+    public final PacketBuffer updateData;
+
+    public PacketMetaTileEntityUpdates(PacketBuffer updateData) {
+        this.updateData = updateData;
+    }
+}
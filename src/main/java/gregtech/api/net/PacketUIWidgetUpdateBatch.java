@@ -0,0 +1,18 @@
+package gregtech.api.net;
+
+import java.util.List;
+
+/**
+ * Carries all widget updates produced by single window during one tick
+ * Widget ids and payload lengths are written as varints
+ */
+public class PacketUIWidgetUpdateBatch implements NetworkHandler.Packet {
+
+    public final int windowId;
+    public final List<PacketUIWidgetUpdate> widgetUpdates;
+
+    public PacketUIWidgetUpdateBatch(int windowId, List<PacketUIWidgetUpdate> widgetUpdates) {
+        this.windowId = windowId;
+        this.widgetUpdates = widgetUpdates;
+    }
+}
@@ -54,15 +54,16 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
 
     protected void addNode(BlockPos nodePos, Node<NodeDataType> node) {
         allNodes.put(nodePos, node);
-        worldData.markDirty();
+        worldData.indexNode(nodePos, this);
+        worldData.markNodeDirty(nodePos);
         onConnectionsUpdate();
     }
 
     protected void removeNode(BlockPos nodePos) {
         if (allNodes.containsKey(nodePos)) {
             Node<NodeDataType> selfNode = allNodes.remove(nodePos);
+            worldData.unindexNode(nodePos);
             removeNodeInternal(nodePos, selfNode);
-            worldData.markDirty();
         }
     }
 
@@ -117,7 +118,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         //update result block status before updating & marking
         setBlocked(selfNode, facing, isBlocked);
         onConnectionsUpdate();
-        worldData.markDirty();
+        worldData.markNodeDirty(nodePos);
     }
 
     protected void updateMark(BlockPos nodePos, int newMark) {
@@ -168,7 +169,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             }
         }
         onConnectionsUpdate();
-        worldData.markDirty();
+        worldData.markNodeDirty(nodePos);
     }
 
     private void setBlocked(Node<NodeDataType> selfNode, EnumFacing facing, boolean isBlocked) {
@@ -182,7 +183,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     public boolean markNodeAsActive(BlockPos nodePos, boolean isActive) {
         if(allNodes.containsKey(nodePos) && allNodes.get(nodePos).isActive != isActive) {
             allNodes.get(nodePos).isActive = isActive;
-            worldData.markDirty();
+            worldData.markNodeDirty(nodePos);
             onConnectionsUpdate();
             return true;
         }
@@ -285,7 +286,6 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             worldData.removePipeNet(this);
         }
         onConnectionsUpdate();
-        worldData.markDirty();
     }
 
     protected boolean areNodesCustomContactable(NodeDataType first, NodeDataType second, PipeNet<NodeDataType> secondNodePipeNet) {
@@ -305,8 +305,10 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
      */
     protected void transferNodeData(Map<BlockPos, Node<NodeDataType>> transferredNodes, PipeNet<NodeDataType> parentNet) {
         this.allNodes.putAll(transferredNodes);
+        for(BlockPos nodePos : transferredNodes.keySet()) {
+            worldData.indexNode(nodePos, this);
+        }
         onConnectionsUpdate();
-        worldData.markDirty();
     }
 
     /**
@@ -348,11 +350,14 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
 
         for(int i = 0; i < allNodesList.tagCount(); i++) {
             NBTTagCompound nodeTag = allNodesList.getCompoundTagAt(i);
-            int x = nodeTag.getInteger("x");
-            int y = nodeTag.getInteger("y");
-            int z = nodeTag.getInteger("z");
+            BlockPos blockPos;
+            if(nodeTag.hasKey("pos", NBT.TAG_LONG)) {
+                blockPos = BlockPos.fromLong(nodeTag.getLong("pos"));
+            } else {
+                //nodes written by older versions store every coordinate separately
+                blockPos = new BlockPos(nodeTag.getInteger("x"), nodeTag.getInteger("y"), nodeTag.getInteger("z"));
+            }
             int wirePropertiesIndex = nodeTag.getInteger("index");
-            BlockPos blockPos = new BlockPos(x, y, z);
             NodeDataType nodeData = readProperties.get(wirePropertiesIndex);
             int blockedConnections = nodeTag.getInteger("blocked");
             int mark = nodeTag.getInteger("mark");
@@ -374,9 +379,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             BlockPos nodePos = entry.getKey();
             Node<NodeDataType> node = entry.getValue();
             NBTTagCompound nodeTag = new NBTTagCompound();
-            nodeTag.setInteger("x", nodePos.getX());
-            nodeTag.setInteger("y", nodePos.getY());
-            nodeTag.setInteger("z", nodePos.getZ());
+            nodeTag.setLong("pos", nodePos.toLong());
             int wirePropertiesIndex = alreadyWritten.get(node.data);
             if(wirePropertiesIndex == -1) {
                 wirePropertiesIndex = currentIndex;
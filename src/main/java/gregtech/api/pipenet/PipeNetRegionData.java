@@ -0,0 +1,48 @@
+package gregtech.api.pipenet;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.storage.WorldSavedData;
+
+import javax.annotation.Nullable;
+
+/**
+ * Persistent nodes of single region of {@link WorldPipeNet}<p>
+ *
+ * Every region is saved into it's own file, so only regions which nodes were changed since last save are written again.
+ * Tag read from disk is kept until owning world pipe net loads the region and adds it's nodes to pipe nets.
+ */
+public class PipeNetRegionData extends WorldSavedData {
+
+    private WorldPipeNet<?, ?> worldPipeNet;
+    private long regionKey;
+    private NBTTagCompound pendingTag;
+
+    public PipeNetRegionData(String name) {
+        super(name);
+    }
+
+    void setOwner(WorldPipeNet<?, ?> worldPipeNet, long regionKey) {
+        this.worldPipeNet = worldPipeNet;
+        this.regionKey = regionKey;
+    }
+
+    /**
+     * @return tag read from disk, or null if region wasn't saved before or it's nodes were already loaded
+     */
+    @Nullable
+    NBTTagCompound takePendingTag() {
+        NBTTagCompound regionTag = pendingTag;
+        this.pendingTag = null;
+        return regionTag;
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound nbt) {
+        this.pendingTag = nbt;
+    }
+
+    @Override
+    public NBTTagCompound writeToNBT(NBTTagCompound compound) {
+        return worldPipeNet.writeRegion(regionKey, compound);
+    }
+}
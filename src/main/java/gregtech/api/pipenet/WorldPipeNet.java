@@ -1,20 +1,54 @@
 package gregtech.api.pipenet;
 
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.storage.WorldSavedData;
 import net.minecraftforge.common.util.Constants.NBT;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
+/**
+ * Holds all pipe nets of the world and their persistent nodes<p>
+ *
+ * Nodes are saved per region of 32x32 chunks in separate {@link PipeNetRegionData}, and only regions
+ * which nodes were changed are written on world save. Node position is stored as single int relative to region,
+ * so region tag contains three ints per node and shared node data list instead of compound tag per node.
+ * Pipe nets themselves aren't saved, they are rebuilt from nodes when region is loaded together with it's first chunk,
+ * and regions stay loaded until world is unloaded. Pipe nets saved as a whole by older versions are loaded at once
+ * and moved into regions on first access.
+ */
 public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>> extends WorldSavedData {
 
+    private static final int REGION_SHIFT = 9;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+    private static final Map<World, List<WorldPipeNet<?, ?>>> PIPE_NETS_BY_WORLD = new WeakHashMap<>();
+
     protected World world;
     protected List<T> pipeNets = new ArrayList<>();
+    //packed node position -> pipe net owning that node
+    private final TLongObjectMap<T> pipeNetByPos = new TLongObjectHashMap<>();
+    //region key -> packed positions of nodes in that region
+    private final TLongObjectMap<TLongSet> nodesByRegion = new TLongObjectHashMap<>();
+    private final TLongObjectMap<PipeNetRegionData> loadedRegions = new TLongObjectHashMap<>();
+    //used only for reading and writing node data of regions
+    private T nodeDataSerializer;
+    private boolean isLoadingRegion;
+    private boolean hasLegacyPipeNets;
 
     public WorldPipeNet(String name) {
         super(name);
@@ -24,7 +58,50 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
         return world;
     }
 
+    /**
+     * Sets world this pipe net is accessed from, should be called every time world pipe net is obtained
+     * On first call for given world, regions of all chunks loaded in it are loaded,
+     * and regions of chunks loaded later are loaded on chunk load
+     */
+    protected void attachToWorld(World world) {
+        this.world = world;
+        if(world.isRemote) {
+            return;
+        }
+        List<WorldPipeNet<?, ?>> worldPipeNets = PIPE_NETS_BY_WORLD.computeIfAbsent(world, it -> new ArrayList<>());
+        if(worldPipeNets.contains(this)) {
+            return;
+        }
+        worldPipeNets.add(this);
+        if(hasLegacyPipeNets) {
+            migrateLegacyPipeNets();
+        }
+        if(world instanceof WorldServer) {
+            for(Chunk chunk : ((WorldServer) world).getChunkProvider().getLoadedChunks()) {
+                loadRegion(getRegionKey(chunk.x >> 5, chunk.z >> 5));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        List<WorldPipeNet<?, ?>> worldPipeNets = PIPE_NETS_BY_WORLD.get(event.getWorld());
+        if(worldPipeNets != null) {
+            Chunk chunk = event.getChunk();
+            long regionKey = getRegionKey(chunk.x >> 5, chunk.z >> 5);
+            for(WorldPipeNet<?, ?> worldPipeNet : worldPipeNets) {
+                worldPipeNet.loadRegion(regionKey);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        PIPE_NETS_BY_WORLD.remove(event.getWorld());
+    }
+
     public void addNode(BlockPos nodePos, NodeDataType nodeData, int mark, int blockedConnections, boolean isActive) {
+        ensureRegionLoaded(nodePos);
         T myPipeNet = null;
         Node<NodeDataType> node = new Node<>(nodeData, blockedConnections, mark, isActive);
         for(EnumFacing facing : EnumFacing.VALUES) {
@@ -46,11 +123,11 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
             myPipeNet = createNetInstance();
             myPipeNet.addNode(nodePos, node);
             addPipeNet(myPipeNet);
-            markDirty();
         }
     }
 
     public void removeNode(BlockPos nodePos) {
+        ensureRegionLoaded(nodePos);
         T pipeNet = getNetFromPos(nodePos);
         if(pipeNet != null) {
             pipeNet.removeNode(nodePos);
@@ -58,6 +135,7 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     }
 
     public void updateBlockedConnections(BlockPos nodePos, EnumFacing side, boolean isBlocked) {
+        ensureRegionLoaded(nodePos);
         T pipeNet = getNetFromPos(nodePos);
         if(pipeNet != null) {
             pipeNet.updateBlockedConnections(nodePos, side, isBlocked);
@@ -65,6 +143,7 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     }
 
     public void updateMark(BlockPos nodePos, int newMark) {
+        ensureRegionLoaded(nodePos);
         T pipeNet = getNetFromPos(nodePos);
         if(pipeNet != null) {
             pipeNet.updateMark(nodePos, newMark);
@@ -72,11 +151,157 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     }
 
     public T getNetFromPos(BlockPos blockPos) {
-        for(T pipeNet : pipeNets) {
-            if(pipeNet.containsNode(blockPos))
-                return pipeNet;
+        return pipeNetByPos.get(blockPos.toLong());
+    }
+
+    /**
+     * Records given pipe net as the owner of node at given position
+     * Called by pipe nets every time node is added or transferred to them
+     */
+    void indexNode(BlockPos nodePos, T pipeNet) {
+        this.pipeNetByPos.put(nodePos.toLong(), pipeNet);
+    }
+
+    /**
+     * Forgets owner of node at given position
+     * Called by pipe nets when node is removed from the world
+     */
+    void unindexNode(BlockPos nodePos) {
+        long regionKey = getRegionKey(nodePos);
+        this.pipeNetByPos.remove(nodePos.toLong());
+        TLongSet regionNodes = nodesByRegion.get(regionKey);
+        if(regionNodes != null) {
+            regionNodes.remove(nodePos.toLong());
+        }
+        markRegionDirty(regionKey);
+    }
+
+    /**
+     * Marks region of node at given position to be saved
+     * Called by pipe nets every time node is added or it's persistent state is changed
+     */
+    void markNodeDirty(BlockPos nodePos) {
+        long regionKey = getRegionKey(nodePos);
+        TLongSet regionNodes = nodesByRegion.get(regionKey);
+        if(regionNodes == null) {
+            regionNodes = new TLongHashSet();
+            this.nodesByRegion.put(regionKey, regionNodes);
+        }
+        regionNodes.add(nodePos.toLong());
+        if(!isLoadingRegion) {
+            markRegionDirty(regionKey);
+        }
+    }
+
+    private void markRegionDirty(long regionKey) {
+        PipeNetRegionData regionData = loadedRegions.get(regionKey);
+        if(regionData != null) {
+            regionData.markDirty();
         }
-        return null;
+    }
+
+    private static long getRegionKey(int regionX, int regionZ) {
+        return ChunkPos.asLong(regionX, regionZ);
+    }
+
+    private static long getRegionKey(BlockPos blockPos) {
+        return getRegionKey(blockPos.getX() >> REGION_SHIFT, blockPos.getZ() >> REGION_SHIFT);
+    }
+
+    private void ensureRegionLoaded(BlockPos nodePos) {
+        if(world != null && !world.isRemote) {
+            loadRegion(getRegionKey(nodePos));
+        }
+    }
+
+    private T getNodeDataSerializer() {
+        if(nodeDataSerializer == null) {
+            this.nodeDataSerializer = createNetInstance();
+        }
+        return nodeDataSerializer;
+    }
+
+    private PipeNetRegionData loadRegion(long regionKey) {
+        PipeNetRegionData regionData = loadedRegions.get(regionKey);
+        if(regionData != null) {
+            return regionData;
+        }
+        String regionName = mapName + ".r." + (int) regionKey + "." + (int) (regionKey >>> 32);
+        regionData = (PipeNetRegionData) world.loadData(PipeNetRegionData.class, regionName);
+        if(regionData == null) {
+            regionData = new PipeNetRegionData(regionName);
+            world.setData(regionName, regionData);
+        }
+        regionData.setOwner(this, regionKey);
+        this.loadedRegions.put(regionKey, regionData);
+        NBTTagCompound regionTag = regionData.takePendingTag();
+        if(regionTag != null) {
+            readRegion(regionKey, regionTag);
+        }
+        return regionData;
+    }
+
+    private void readRegion(long regionKey, NBTTagCompound regionTag) {
+        int regionBaseX = (int) regionKey << REGION_SHIFT;
+        int regionBaseZ = (int) (regionKey >>> 32) << REGION_SHIFT;
+        NBTTagList nodeDataList = regionTag.getTagList("NodeData", NBT.TAG_COMPOUND);
+        List<NodeDataType> readNodeData = new ArrayList<>();
+        for(int i = 0; i < nodeDataList.tagCount(); i++) {
+            readNodeData.add(getNodeDataSerializer().readNodeData(nodeDataList.getCompoundTagAt(i)));
+        }
+        int[] nodes = regionTag.getIntArray("Nodes");
+        //nodes are added as if they were placed in the world, which joins them into pipe nets
+        this.isLoadingRegion = true;
+        for(int i = 0; i + 2 < nodes.length; i += 3) {
+            int localPos = nodes[i];
+            int nodeFlags = nodes[i + 1];
+            BlockPos nodePos = new BlockPos(regionBaseX + (localPos >> 17 & REGION_MASK), localPos & 0xFF, regionBaseZ + (localPos >> 8 & REGION_MASK));
+            NodeDataType nodeData = readNodeData.get(nodeFlags & 0xFFFF);
+            addNode(nodePos, nodeData, nodes[i + 2], nodeFlags >> 16 & 0x3F, (nodeFlags & 1 << 22) != 0);
+        }
+        this.isLoadingRegion = false;
+    }
+
+    NBTTagCompound writeRegion(long regionKey, NBTTagCompound compound) {
+        TLongSet regionNodes = nodesByRegion.get(regionKey);
+        long[] nodePositions = regionNodes == null ? new long[0] : regionNodes.toArray();
+        //sorted positions make adjacent nodes join existing pipe nets when region is read
+        Arrays.sort(nodePositions);
+        int[] nodes = new int[nodePositions.length * 3];
+        NBTTagList nodeDataList = new NBTTagList();
+        TObjectIntMap<NodeDataType> alreadyWritten = new TObjectIntHashMap<>(10, 0.5f, -1);
+        for(int i = 0; i < nodePositions.length; i++) {
+            BlockPos nodePos = BlockPos.fromLong(nodePositions[i]);
+            Node<NodeDataType> node = pipeNetByPos.get(nodePositions[i]).allNodes.get(nodePos);
+            int nodeDataIndex = alreadyWritten.get(node.data);
+            if(nodeDataIndex == -1) {
+                nodeDataIndex = nodeDataList.tagCount();
+                alreadyWritten.put(node.data, nodeDataIndex);
+                NBTTagCompound nodeDataTag = new NBTTagCompound();
+                getNodeDataSerializer().writeNodeData(node.data, nodeDataTag);
+                nodeDataList.appendTag(nodeDataTag);
+            }
+            nodes[i * 3] = (nodePos.getX() & REGION_MASK) << 17 | (nodePos.getZ() & REGION_MASK) << 8 | nodePos.getY() & 0xFF;
+            nodes[i * 3 + 1] = nodeDataIndex | (node.blockedConnections & 0x3F) << 16 | (node.isActive ? 1 << 22 : 0);
+            nodes[i * 3 + 2] = node.mark;
+        }
+        compound.setIntArray("Nodes", nodes);
+        compound.setTag("NodeData", nodeDataList);
+        return compound;
+    }
+
+    /**
+     * Moves nodes of pipe nets saved by older versions into regions
+     */
+    private void migrateLegacyPipeNets() {
+        this.hasLegacyPipeNets = false;
+        for(long nodePosKey : pipeNetByPos.keys()) {
+            BlockPos nodePos = BlockPos.fromLong(nodePosKey);
+            loadRegion(getRegionKey(nodePos));
+            markNodeDirty(nodePos);
+        }
+        //rewrite world pipe net data without legacy pipe nets
+        markDirty();
     }
 
     protected void addPipeNet(T pipeNet) {
@@ -93,7 +318,12 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
 
     @Override
     public void readFromNBT(NBTTagCompound nbt) {
+        if(!nbt.hasKey("PipeNets", NBT.TAG_LIST)) {
+            return;
+        }
         this.pipeNets = new ArrayList<>();
+        this.pipeNetByPos.clear();
+        this.hasLegacyPipeNets = true;
         NBTTagList allEnergyNets = nbt.getTagList("PipeNets", NBT.TAG_COMPOUND);
         for(int i = 0; i < allEnergyNets.tagCount(); i++) {
             NBTTagCompound pNetTag = allEnergyNets.getCompoundTagAt(i);
@@ -101,18 +331,16 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
             pipeNets.add(pipeNet);
             pipeNet.isValid = true;
             pipeNet.deserializeNBT(pNetTag);
+            for(BlockPos nodePos : pipeNet.getAllNodes().keySet()) {
+                indexNode(nodePos, pipeNet);
+            }
         }
         this.pipeNets.forEach(PipeNet::onConnectionsUpdate);
     }
 
     @Override
     public NBTTagCompound writeToNBT(NBTTagCompound compound) {
-        NBTTagList allPipeNets = new NBTTagList();
-        for (T pipeNet : pipeNets) {
-            NBTTagCompound pNetTag = pipeNet.serializeNBT();
-            allPipeNets.appendTag(pNetTag);
-        }
-        compound.setTag("PipeNets", allPipeNets);
+        //nodes are written by region data
         return compound;
     }
 }
@@ -45,6 +45,14 @@ import java.util.stream.Collectors;
 
 public class ModHandler {
 
+    //crafting recipe removals queued until flushRecipeRemovals, outputs are indexed by item
+    private static final Set<ResourceLocation> queuedRemovalNames = new LinkedHashSet<>();
+    private static final Set<Item> queuedRemovalOutputItems = new HashSet<>();
+    private static final Map<Item, List<ItemStack>> queuedRemovalOutputStacks = new HashMap<>();
+    private static final List<Predicate<IRecipe>> queuedRemovalPredicates = new ArrayList<>();
+    //set after final flush, removals queued later are applied immediately
+    private static boolean recipeRemovalsFinished = false;
+
     /**
      * Returns if that Liquid is Water or Distilled Water
      */
@@ -520,6 +528,120 @@ public class ModHandler {
         ForgeRegistries.RECIPES.register(new DummyRecipe().setRegistryName(location));
     }
 
+    /**
+     * Queues removal of all crafting recipes with given output item,
+     * recipe is removed on next {@link #flushRecipeRemovals()} call (see {@link #finishRecipeRemovals()})
+     */
+    public static void queueRecipeRemoval(Item output) {
+        queuedRemovalOutputItems.add(output);
+        onRecipeRemovalQueued();
+    }
+
+    /**
+     * Queues removal of all crafting recipes with output equal to given stack (including count and NBT),
+     * recipe is removed on next {@link #flushRecipeRemovals()} call (see {@link #finishRecipeRemovals()})
+     */
+    public static void queueRecipeRemoval(ItemStack output) {
+        if (output.isEmpty()) {
+            GTLog.logger.error("Cannot remove crafting recipes with empty output.");
+            GTLog.logger.error("Stacktrace:", new IllegalArgumentException());
+            return;
+        }
+        queuedRemovalOutputStacks.computeIfAbsent(output.getItem(), k -> new ArrayList<>()).add(output.copy());
+        onRecipeRemovalQueued();
+    }
+
+    /**
+     * Queues removal of crafting recipe with given registry name,
+     * recipe is removed on next {@link #flushRecipeRemovals()} call (see {@link #finishRecipeRemovals()})
+     */
+    public static void queueRecipeRemoval(ResourceLocation location) {
+        queuedRemovalNames.add(location);
+        onRecipeRemovalQueued();
+    }
+
+    /**
+     * Queues removal of all crafting recipes of given class,
+     * recipe is removed on next {@link #flushRecipeRemovals()} call (see {@link #finishRecipeRemovals()})
+     */
+    public static <R extends IRecipe> void queueRecipeRemoval(Class<R> recipeClass) {
+        queuedRemovalPredicates.add(recipeClass::isInstance);
+        onRecipeRemovalQueued();
+    }
+
+    /**
+     * Queues removal of all crafting recipes matching given predicate,
+     * recipe is removed on next {@link #flushRecipeRemovals()} call (see {@link #finishRecipeRemovals()})
+     */
+    public static void queueRecipeRemoval(Predicate<IRecipe> predicate) {
+        queuedRemovalPredicates.add(predicate);
+        onRecipeRemovalQueued();
+    }
+
+    /**
+     * Removes all crafting recipes queued for removal, checking every registered recipe only once<p>
+     * Queue is drained at the end of recipe registration by GregTech and once more after late material handlers
+     * on lowest priority, which is final flush. Removals queued after it are applied immediately.
+     * @return amount of recipes removed
+     */
+    public static int flushRecipeRemovals() {
+        IForgeRegistry<IRecipe> registry = ForgeRegistries.RECIPES;
+        Set<ResourceLocation> toRemove = new LinkedHashSet<>(queuedRemovalNames);
+        if (!queuedRemovalOutputItems.isEmpty() || !queuedRemovalOutputStacks.isEmpty() || !queuedRemovalPredicates.isEmpty()) {
+            for (IRecipe recipe : registry) {
+                if (!(recipe instanceof DummyRecipe) && isRemovalQueued(recipe)) {
+                    toRemove.add(recipe.getRegistryName());
+                }
+            }
+        }
+        queuedRemovalNames.clear();
+        queuedRemovalOutputItems.clear();
+        queuedRemovalOutputStacks.clear();
+        queuedRemovalPredicates.clear();
+
+        toRemove.forEach(location -> registry.register(new DummyRecipe().setRegistryName(location)));
+        return toRemove.size();
+    }
+
+    /**
+     * Performs final flush of queued crafting recipe removals,
+     * every removal queued after this call is applied immediately
+     * @return amount of recipes removed
+     */
+    public static int finishRecipeRemovals() {
+        int recipesRemoved = flushRecipeRemovals();
+        recipeRemovalsFinished = true;
+        return recipesRemoved;
+    }
+
+    private static void onRecipeRemovalQueued() {
+        if (recipeRemovalsFinished) {
+            GTLog.logger.warn("Crafting recipe removal queued after final flush, removing recipe immediately.");
+            GTLog.logger.warn("Stacktrace:", new IllegalStateException());
+            flushRecipeRemovals();
+        }
+    }
+
+    private static boolean isRemovalQueued(IRecipe recipe) {
+        ItemStack recipeOutput = recipe.getRecipeOutput();
+        if (!recipeOutput.isEmpty()) {
+            if (queuedRemovalOutputItems.contains(recipeOutput.getItem()))
+                return true;
+            List<ItemStack> outputStacks = queuedRemovalOutputStacks.get(recipeOutput.getItem());
+            if (outputStacks != null) {
+                for (ItemStack outputStack : outputStacks) {
+                    if (ItemStack.areItemStacksEqual(recipeOutput, outputStack))
+                        return true;
+                }
+            }
+        }
+        for (Predicate<IRecipe> predicate : queuedRemovalPredicates) {
+            if (predicate.test(recipe))
+                return true;
+        }
+        return false;
+    }
+
     ///////////////////////////////////////////////////
     //            Get Recipe Output Helpers          //
     ///////////////////////////////////////////////////
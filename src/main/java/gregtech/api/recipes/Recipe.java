@@ -5,10 +5,14 @@ import com.google.common.collect.ImmutableMap;
 import gnu.trove.impl.unmodifiable.TUnmodifiableObjectIntMap;
 import gnu.trove.map.TObjectIntMap;
 import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.recipes.lookup.IngredientItemFilter;
+import gregtech.api.recipes.lookup.RecipeLookupIndex;
 import gregtech.api.util.GTUtility;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.NonNullList;
 import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fluids.IFluidTank;
 import net.minecraftforge.items.IItemHandlerModifiable;
 import org.apache.commons.lang3.Validate;
 
@@ -72,6 +76,12 @@ public class Recipe {
 
     private final Map<String, Object> recipeProperties;
 
+    /**
+     * Lazily computed fast reject filters of item inputs, recomputed after ore dictionary changes
+     */
+    private IngredientItemFilter[] inputFilters;
+    private int inputFiltersVersion;
+
 	public Recipe(List<CountableIngredient> inputs, List<ItemStack> outputs, TObjectIntMap<ItemStack> chancedOutputs,
                      List<FluidStack> fluidInputs, List<FluidStack> fluidOutputs,
                      Map<String, Object> recipeProperties, int duration, int EUt, boolean hidden, boolean canBeBuffered, boolean needsEmptyOutput) {
@@ -93,9 +103,111 @@ public class Recipe {
 	}
 
 	public final boolean matches(boolean consumeIfSuccessful, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
-		return matches(consumeIfSuccessful, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
+		return matches(consumeIfSuccessful, inputs, fluidInputs, new RecipeMatchBuffer());
 	}
 
+    /**
+     * Checks inputs directly from given inventories, using scratch arrays of given buffer
+     * Ingredients are pre-filtered by item and metadata, so failed check normally doesn't allocate anything
+     */
+    public boolean matches(boolean consumeIfSuccessful, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs, RecipeMatchBuffer matchBuffer) {
+        int tankCount = fluidInputs.getTanks();
+        int slotCount = inputs.getSlots();
+        int[] fluidAmountInTank = matchBuffer.getFluidAmounts(tankCount);
+        int[] itemAmountInSlot = matchBuffer.getItemAmounts(slotCount);
+
+        for(int i = 0; i < tankCount; i++) {
+            FluidStack fluidInTank = fluidInputs.getTankAt(i).getFluid();
+            fluidAmountInTank[i] = fluidInTank == null ? 0 : fluidInTank.amount;
+        }
+        for(int i = 0; i < slotCount; i++) {
+            ItemStack itemInSlot = inputs.getStackInSlot(i);
+            itemAmountInSlot[i] = itemInSlot.isEmpty() ? 0 : itemInSlot.getCount();
+        }
+
+        for (FluidStack fluid : this.fluidInputs) {
+            int fluidAmount = fluid.amount;
+            boolean isNotConsumed = false;
+            if(fluidAmount == 0) {
+                fluidAmount = 1;
+                isNotConsumed = true;
+            }
+            for (int i = 0; i < tankCount; i++) {
+                FluidStack tankFluid = fluidInputs.getTankAt(i).getFluid();
+                if (tankFluid == null || !tankFluid.isFluidEqual(fluid))
+                    continue;
+                int fluidAmountToConsume = Math.min(fluidAmountInTank[i], fluidAmount);
+                fluidAmount -= fluidAmountToConsume;
+                if(!isNotConsumed) fluidAmountInTank[i] -= fluidAmountToConsume;
+                if (fluidAmount == 0) break;
+            }
+            if(fluidAmount > 0)
+                return false;
+        }
+
+        IngredientItemFilter[] inputFilters = getInputFilters();
+        for(int ingredientIndex = 0; ingredientIndex < this.inputs.size(); ingredientIndex++) {
+            CountableIngredient ingredient = this.inputs.get(ingredientIndex);
+            IngredientItemFilter inputFilter = inputFilters[ingredientIndex];
+            int ingredientAmount = ingredient.getCount();
+            boolean isNotConsumed = false;
+            if(ingredientAmount == 0) {
+                ingredientAmount = 1;
+                isNotConsumed = true;
+            }
+            for (int i = 0; i < slotCount; i++) {
+                ItemStack inputStack = inputs.getStackInSlot(i);
+                if (inputStack.isEmpty() || (inputFilter != null && !inputFilter.mayMatch(inputStack)) ||
+                    !ingredient.getIngredient().apply(inputStack))
+                    continue;
+                int itemAmountToConsume = Math.min(itemAmountInSlot[i], ingredientAmount);
+                ingredientAmount -= itemAmountToConsume;
+                if(!isNotConsumed) itemAmountInSlot[i] -= itemAmountToConsume;
+                if(ingredientAmount == 0) break;
+            }
+            if(ingredientAmount > 0)
+                return false;
+        }
+
+        if(consumeIfSuccessful) {
+            for(int i = 0; i < tankCount; i++) {
+                IFluidTank fluidTank = fluidInputs.getTankAt(i);
+                FluidStack fluidStack = fluidTank.getFluid();
+                int fluidAmount = fluidAmountInTank[i];
+                if(fluidStack == null || fluidStack.amount == fluidAmount)
+                    continue;
+                fluidStack.amount = fluidAmount;
+                if(fluidStack.amount == 0 && fluidTank instanceof FluidTank)
+                    ((FluidTank) fluidTank).setFluid(null);
+            }
+            for(int i = 0; i < slotCount; i++) {
+                ItemStack itemInSlot = inputs.getStackInSlot(i);
+                int itemAmount = itemAmountInSlot[i];
+                if(itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount)
+                    continue;
+                itemInSlot.setCount(itemAmount);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return item filters of inputs, in the same order as inputs, null for inputs which cannot be filtered
+     */
+    private IngredientItemFilter[] getInputFilters() {
+        int oreDictionaryVersion = RecipeLookupIndex.getOreDictionaryVersion();
+        if(inputFilters == null || inputFiltersVersion != oreDictionaryVersion) {
+            IngredientItemFilter[] inputFilters = new IngredientItemFilter[inputs.size()];
+            for(int i = 0; i < inputFilters.length; i++) {
+                inputFilters[i] = IngredientItemFilter.create(inputs.get(i).getIngredient());
+            }
+            this.inputFilters = inputFilters;
+            this.inputFiltersVersion = oreDictionaryVersion;
+        }
+        return inputFilters;
+    }
+
 	public boolean matches(boolean consumeIfSuccessful, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
 	    int[] fluidAmountInTank = new int[fluidInputs.size()];
 	    int[] itemAmountInSlot = new int[inputs.size()];
@@ -129,7 +241,10 @@ public class Recipe {
                 return false;
         }
 
-        for(CountableIngredient ingredient : this.inputs) {
+        IngredientItemFilter[] inputFilters = getInputFilters();
+        for(int ingredientIndex = 0; ingredientIndex < this.inputs.size(); ingredientIndex++) {
+            CountableIngredient ingredient = this.inputs.get(ingredientIndex);
+            IngredientItemFilter inputFilter = inputFilters[ingredientIndex];
             int ingredientAmount = ingredient.getCount();
             boolean isNotConsumed = false;
             if(ingredientAmount == 0) {
@@ -138,7 +253,8 @@ public class Recipe {
             }
             for (int i = 0; i < inputs.size(); i++) {
                 ItemStack inputStack = inputs.get(i);
-                if (inputStack.isEmpty() || !ingredient.getIngredient().apply(inputStack))
+                if (inputStack.isEmpty() || (inputFilter != null && !inputFilter.mayMatch(inputStack)) ||
+                    !ingredient.getIngredient().apply(inputStack))
                     continue;
                 int itemAmountToConsume = Math.min(itemAmountInSlot[i], ingredientAmount);
                 ingredientAmount -= itemAmountToConsume;
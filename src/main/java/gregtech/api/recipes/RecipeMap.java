@@ -19,6 +19,7 @@ import gregtech.api.gui.widgets.TankWidget;
 import gregtech.api.recipes.builders.IntCircuitRecipeBuilder;
 import gregtech.api.recipes.crafttweaker.CTRecipe;
 import gregtech.api.recipes.crafttweaker.CTRecipeBuilder;
+import gregtech.api.recipes.lookup.RecipeLookupIndex;
 import gregtech.api.unification.material.type.Material;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.util.GTLog;
@@ -61,6 +62,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     private final Map<FluidKey, Collection<Recipe>> recipeFluidMap = new HashMap<>();
     private final Collection<Recipe> recipeList = new ArrayList<>();
+    private final RecipeLookupIndex lookupIndex = new RecipeLookupIndex(recipeList);
 
 	public RecipeMap(String unlocalizedName,
                      int minInputs, int maxInputs, int minOutputs, int maxOutputs,
@@ -157,6 +159,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 		}
 		Recipe recipe = validationResult.getResult();
 		recipeList.add(recipe);
+		lookupIndex.addRecipe(recipe);
 
 		for (FluidStack fluid : recipe.getFluidInputs()) {
 			recipeFluidMap.computeIfAbsent(new FluidKey(fluid), k -> new HashSet<>(1)).add(recipe);
@@ -166,6 +169,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 	public boolean removeRecipe(Recipe recipe) {
 	    //if we actually removed this recipe
 	    if(recipeList.remove(recipe)) {
+	        lookupIndex.removeRecipe(recipe);
 	        //also iterate trough fluid mappings and remove recipe from them
 	        recipeFluidMap.values().forEach(fluidMap ->
                 fluidMap.removeIf(fluidRecipe -> fluidRecipe == recipe));
@@ -221,10 +225,9 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
 	@Nullable
 	private Recipe findByInputs(long voltage, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
-        for (Recipe recipe : recipeList) {
-            if (recipe.matches(false, inputs, fluidInputs)) {
-                return voltage * amperage >= recipe.getEUt() ? recipe : null;
-            }
+        Recipe recipe = lookupIndex.findRecipe(inputs, fluidInputs);
+        if (recipe != null) {
+            return voltage * amperage >= recipe.getEUt() ? recipe : null;
         }
 		return null;
 	}
@@ -0,0 +1,25 @@
+package gregtech.api.recipes;
+
+/**
+ * Reusable scratch storage for matching recipes against inventories, so repeated checks
+ * done by the same machine don't allocate. Should not be shared between threads
+ */
+public class RecipeMatchBuffer {
+
+    private int[] itemAmounts = new int[0];
+    private int[] fluidAmounts = new int[0];
+
+    int[] getItemAmounts(int slots) {
+        if(itemAmounts.length < slots) {
+            this.itemAmounts = new int[slots];
+        }
+        return itemAmounts;
+    }
+
+    int[] getFluidAmounts(int tanks) {
+        if(fluidAmounts.length < tanks) {
+            this.fluidAmounts = new int[tanks];
+        }
+        return fluidAmounts;
+    }
+}
@@ -0,0 +1,54 @@
+package gregtech.api.recipes.lookup;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraftforge.oredict.OreDictionary;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Cheap pre-check for ingredient matching, containing all item and metadata pairs
+ * ingredient can possibly match. Stacks rejected by filter are never matched by ingredient,
+ * but stacks accepted by it still need to be tested by ingredient itself
+ */
+public class IngredientItemFilter {
+
+    private final Item[] items;
+    private final int[] metadata;
+
+    private IngredientItemFilter(Item[] items, int[] metadata) {
+        this.items = items;
+        this.metadata = metadata;
+    }
+
+    /**
+     * @return filter for given ingredient, or null if matching stacks of ingredient cannot be enumerated
+     */
+    @Nullable
+    public static IngredientItemFilter create(Ingredient ingredient) {
+        List<ItemStack> matchingStacks = RecipeLookupIndex.getIndexableStacks(ingredient);
+        if(matchingStacks == null) {
+            return null;
+        }
+        Item[] items = new Item[matchingStacks.size()];
+        int[] metadata = new int[matchingStacks.size()];
+        for(int i = 0; i < items.length; i++) {
+            ItemStack itemStack = matchingStacks.get(i);
+            items[i] = itemStack.getItem();
+            metadata[i] = itemStack.getMetadata();
+        }
+        return new IngredientItemFilter(items, metadata);
+    }
+
+    public boolean mayMatch(ItemStack itemStack) {
+        Item item = itemStack.getItem();
+        for(int i = 0; i < items.length; i++) {
+            if(items[i] == item && (metadata[i] == OreDictionary.WILDCARD_VALUE || metadata[i] == itemStack.getMetadata())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package gregtech.api.recipes.lookup;
+
+import gregtech.api.recipes.Recipe;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ordered set of recipes sharing the same lookup key
+ * Recipes are always kept sorted by their registration ordinal
+ */
+public class RecipeBucket {
+
+    private int[] ordinals = new int[4];
+    private Recipe[] recipes = new Recipe[4];
+    private int size;
+
+    public void add(int ordinal, Recipe recipe) {
+        if(size == ordinals.length) {
+            this.ordinals = Arrays.copyOf(ordinals, size * 2);
+            this.recipes = Arrays.copyOf(recipes, size * 2);
+        }
+        //ordinals are handed out in increasing order, so append is enough most of the time
+        int insertIndex = size;
+        while(insertIndex > 0 && ordinals[insertIndex - 1] > ordinal) {
+            ordinals[insertIndex] = ordinals[insertIndex - 1];
+            recipes[insertIndex] = recipes[insertIndex - 1];
+            insertIndex--;
+        }
+        this.ordinals[insertIndex] = ordinal;
+        this.recipes[insertIndex] = recipe;
+        this.size++;
+    }
+
+    public void remove(int ordinal) {
+        int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if(index < 0) return;
+        System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+        System.arraycopy(recipes, index + 1, recipes, index, size - index - 1);
+        this.size--;
+        this.recipes[size] = null;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(recipes, 0, size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Finds first recipe in this bucket matching given inputs, skipping all recipes
+     * with ordinal equal or greater than given limit
+     * @return ordinal of matched recipe, or -1 if nothing matched before the limit
+     */
+    public int findFirstMatch(int ordinalLimit, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
+        for(int i = 0; i < size; i++) {
+            if(ordinals[i] >= ordinalLimit)
+                break;
+            if(recipes[i].matches(false, inputs, fluidInputs))
+                return ordinals[i];
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,211 @@
+package gregtech.api.recipes.lookup;
+
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import gregtech.api.recipes.CountableIngredient;
+import gregtech.api.recipes.FluidKey;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.ingredients.IntCircuitIngredient;
+import gregtech.api.util.GTLog;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import net.minecraftforge.oredict.OreDictionary;
+import net.minecraftforge.oredict.OreDictionary.OreRegisterEvent;
+import net.minecraftforge.oredict.OreIngredient;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Lookup index used by {@link gregtech.api.recipes.RecipeMap} to find recipes by their inputs.<p>
+ *
+ * Every recipe is placed into buckets keyed by item (item + metadata, or item + wildcard)
+ * or fluid identity of its most selective input, so lookup only visits recipes that
+ * share at least one item or fluid with the given inputs.
+ * Recipes with inputs that cannot be enumerated (custom ingredients) are always visited.<p>
+ *
+ * Buckets are kept ordered by recipe registration order, and lookup always returns
+ * matching recipe with the lowest ordinal, so result is exactly the same as the one
+ * of linear scan over recipe list.<p>
+ *
+ * Ore dictionary ingredients are expanded at indexing time, so index is rebuilt
+ * lazily after any ore dictionary registration.
+ */
+public class RecipeLookupIndex {
+
+    private static Field oreIngredientOresField;
+    private static int oreDictionaryVersion;
+
+    private final Collection<Recipe> recipeList;
+
+    private final Map<Item, TIntObjectMap<RecipeBucket>> itemBuckets = new HashMap<>();
+    private final Map<FluidKey, RecipeBucket> fluidBuckets = new HashMap<>();
+    private final RecipeBucket unindexedRecipes = new RecipeBucket();
+
+    private final TObjectIntMap<Recipe> recipeOrdinals = new TObjectIntHashMap<>();
+    private final TIntObjectMap<Recipe> recipesByOrdinal = new TIntObjectHashMap<>();
+    private final Map<Recipe, List<RecipeBucket>> recipeBuckets = new HashMap<>();
+    private int nextOrdinal;
+    private int indexedOreDictionaryVersion;
+
+    /**
+     * @param recipeList backing recipe list of recipe map, in registration order.
+     *                   Index is rebuilt from it when ore dictionary changes
+     */
+    public RecipeLookupIndex(Collection<Recipe> recipeList) {
+        this.recipeList = recipeList;
+        this.indexedOreDictionaryVersion = oreDictionaryVersion;
+    }
+
+    @SubscribeEvent
+    public static void onOreRegistration(OreRegisterEvent event) {
+        oreDictionaryVersion++;
+    }
+
+    /**
+     * @return counter incremented on every ore dictionary registration,
+     * data derived from ore ingredients should be recomputed when it changes
+     */
+    public static int getOreDictionaryVersion() {
+        return oreDictionaryVersion;
+    }
+
+    public void addRecipe(Recipe recipe) {
+        int ordinal = nextOrdinal++;
+        List<RecipeBucket> buckets = getBucketsForRecipe(recipe);
+        for(RecipeBucket bucket : buckets) {
+            bucket.add(ordinal, recipe);
+        }
+        recipeOrdinals.put(recipe, ordinal);
+        recipesByOrdinal.put(ordinal, recipe);
+        recipeBuckets.put(recipe, buckets);
+    }
+
+    public void removeRecipe(Recipe recipe) {
+        List<RecipeBucket> buckets = recipeBuckets.remove(recipe);
+        if(buckets == null) return;
+        int ordinal = recipeOrdinals.remove(recipe);
+        recipesByOrdinal.remove(ordinal);
+        for(RecipeBucket bucket : buckets) {
+            bucket.remove(ordinal);
+        }
+    }
+
+    /**
+     * Finds first recipe (in registration order) matching given inputs
+     * Voltage is not checked here
+     */
+    @Nullable
+    public Recipe findRecipe(List<ItemStack> inputs, List<FluidStack> fluidInputs) {
+        if(indexedOreDictionaryVersion != oreDictionaryVersion) {
+            rebuild();
+        }
+        int ordinalLimit = Integer.MAX_VALUE;
+
+        for(ItemStack itemStack : inputs) {
+            if(itemStack.isEmpty()) continue;
+            TIntObjectMap<RecipeBucket> metaBuckets = itemBuckets.get(itemStack.getItem());
+            if(metaBuckets == null) continue;
+            ordinalLimit = findInBucket(metaBuckets.get(itemStack.getMetadata()), ordinalLimit, inputs, fluidInputs);
+            ordinalLimit = findInBucket(metaBuckets.get(OreDictionary.WILDCARD_VALUE), ordinalLimit, inputs, fluidInputs);
+        }
+        for(FluidStack fluidStack : fluidInputs) {
+            if(fluidStack == null) continue;
+            ordinalLimit = findInBucket(fluidBuckets.get(new FluidKey(fluidStack)), ordinalLimit, inputs, fluidInputs);
+        }
+        ordinalLimit = findInBucket(unindexedRecipes, ordinalLimit, inputs, fluidInputs);
+
+        return ordinalLimit == Integer.MAX_VALUE ? null : recipesByOrdinal.get(ordinalLimit);
+    }
+
+    private static int findInBucket(@Nullable RecipeBucket bucket, int ordinalLimit, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
+        if(bucket == null) return ordinalLimit;
+        int matchedOrdinal = bucket.findFirstMatch(ordinalLimit, inputs, fluidInputs);
+        return matchedOrdinal == -1 ? ordinalLimit : matchedOrdinal;
+    }
+
+    private void rebuild() {
+        this.itemBuckets.clear();
+        this.fluidBuckets.clear();
+        this.recipeOrdinals.clear();
+        this.recipeBuckets.clear();
+        this.recipesByOrdinal.clear();
+        this.unindexedRecipes.clear();
+        this.nextOrdinal = 0;
+        this.indexedOreDictionaryVersion = oreDictionaryVersion;
+        for(Recipe recipe : recipeList) {
+            addRecipe(recipe);
+        }
+    }
+
+    private List<RecipeBucket> getBucketsForRecipe(Recipe recipe) {
+        //every input should be matched by some stack, so recipe only needs
+        //to be placed into buckets of it's most selective input
+        List<ItemStack> selectedStacks = null;
+        for(CountableIngredient ingredient : recipe.getInputs()) {
+            List<ItemStack> matchingStacks = getIndexableStacks(ingredient.getIngredient());
+            if(matchingStacks != null && (selectedStacks == null || matchingStacks.size() < selectedStacks.size())) {
+                selectedStacks = matchingStacks;
+            }
+        }
+        if(selectedStacks != null) {
+            List<RecipeBucket> buckets = new ArrayList<>(selectedStacks.size());
+            for(ItemStack itemStack : selectedStacks) {
+                if(itemStack.isEmpty()) continue;
+                RecipeBucket bucket = itemBuckets.computeIfAbsent(itemStack.getItem(), k -> new TIntObjectHashMap<>())
+                    .get(itemStack.getMetadata());
+                if(bucket == null) {
+                    bucket = new RecipeBucket();
+                    itemBuckets.get(itemStack.getItem()).put(itemStack.getMetadata(), bucket);
+                }
+                if(!buckets.contains(bucket)) {
+                    buckets.add(bucket);
+                }
+            }
+            return buckets;
+        }
+        if(!recipe.getFluidInputs().isEmpty()) {
+            FluidKey fluidKey = new FluidKey(recipe.getFluidInputs().get(0));
+            return Collections.singletonList(fluidBuckets.computeIfAbsent(fluidKey, k -> new RecipeBucket()));
+        }
+        return Collections.singletonList(unindexedRecipes);
+    }
+
+    /**
+     * @return list of stacks (metadata may be a wildcard) such as ingredient
+     * can only match stacks of these items and metadata, or null if ingredient cannot be indexed
+     */
+    @Nullable
+    public static List<ItemStack> getIndexableStacks(Ingredient ingredient) {
+        Class<?> ingredientClass = ingredient.getClass();
+        if(ingredientClass == Ingredient.class || ingredientClass == IntCircuitIngredient.class) {
+            //vanilla ingredient returns raw stacks here, without expanding wildcards
+            return Arrays.asList(ingredient.getMatchingStacks());
+        } else if(ingredientClass == OreIngredient.class) {
+            //OreIngredient expands wildcards using creative tab contents, so use backing ore list
+            return getOreIngredientStacks((OreIngredient) ingredient);
+        }
+        return null;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static List<ItemStack> getOreIngredientStacks(OreIngredient ingredient) {
+        try {
+            if(oreIngredientOresField == null) {
+                oreIngredientOresField = ReflectionHelper.findField(OreIngredient.class, "ores");
+            }
+            return new ArrayList<>((List<ItemStack>) oreIngredientOresField.get(ingredient));
+        } catch (ReflectiveOperationException | ReflectionHelper.UnableToFindFieldException exception) {
+            GTLog.logger.warn("Failed to read ore list of OreIngredient, ore ingredients will not be indexed", exception);
+            return null;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package gregtech.api.unification;
 
-import com.google.common.base.CaseFormat;
 import com.google.common.base.Function;
-import com.google.common.base.Joiner;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
 import gregtech.api.unification.material.type.DustMaterial;
 import gregtech.api.unification.material.type.IngotMaterial;
 import gregtech.api.unification.material.type.MarkerMaterial;
@@ -10,6 +10,7 @@ import gregtech.api.unification.material.type.Material;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.unification.stack.*;
 import gregtech.api.util.CustomModPriorityComparator;
+import gregtech.api.util.GTLog;
 import gregtech.common.ConfigHolder;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.NonNullList;
@@ -34,9 +35,17 @@ public class OreDictUnifier {
     private static final Map<String, MarkerMaterial> markerMaterialRegistry = new HashMap<>();
     private static final Map<SimpleItemStack, ItemMaterialInfo> materialUnificationInfo = new WildcardAwareHashMap<>();
     private static final Map<SimpleItemStack, UnificationEntry> stackUnificationInfo = new WildcardAwareHashMap<>();
+    //lists are kept sorted by stack comparator, so first stack is always the unificated one
     private static final Map<UnificationEntry, ArrayList<SimpleItemStack>> stackUnificationItems = new HashMap<>();
+    //first stacks of stackUnificationItems lists, keyed by getUnificatedStackKey, marker materials are not cached
+    private static final TIntObjectMap<SimpleItemStack> unificatedStacks = new TIntObjectHashMap<>();
     private static final Map<SimpleItemStack, Set<String>> stackOreDictName = new WildcardAwareHashMap<>();
 
+    //results of parseOreName, names which don't contain prefix and material are kept separately,
+    //and only after material registry is frozen, because before that their material can still be registered
+    private static final Map<String, UnificationEntry> parsedOreNames = new HashMap<>();
+    private static final Set<String> unparsableOreNames = new HashSet<>();
+
     private static Comparator<SimpleItemStack> stackComparator;
 
 
@@ -63,6 +72,8 @@ public class OreDictUnifier {
             throw new IllegalArgumentException(("Marker material with id " + markerMaterial.toString() + " is already registered!"));
         }
         markerMaterialRegistry.put(markerMaterial.toString(), markerMaterial);
+        //names which didn't match any material before can match this one now
+        unparsableOreNames.clear();
     }
 
     public static void registerOre(ItemStack itemStack, ItemMaterialInfo materialInfo) {
@@ -81,12 +92,17 @@ public class OreDictUnifier {
     }
 
     public static void init() {
+        long startTime = System.nanoTime();
+        int registrationsProcessed = 0;
         for(String registeredOreName : OreDictionary.getOreNames()) {
             NonNullList<ItemStack> theseOres = OreDictionary.getOres(registeredOreName);
             for(ItemStack itemStack : theseOres) {
                 onItemRegistration(new OreRegisterEvent(registeredOreName, itemStack));
+                registrationsProcessed++;
             }
         }
+        GTLog.logger.info("Processed {} ore dictionary registrations in {} ms, {} distinct ore names were recognized",
+            registrationsProcessed, (System.nanoTime() - startTime) / 1000000L, parsedOreNames.size());
         MinecraftForge.EVENT_BUS.register(OreDictUnifier.class);
     }
 
@@ -97,50 +113,28 @@ public class OreDictUnifier {
         //cache this registration by name
         stackOreDictName.computeIfAbsent(simpleItemStack, k -> new HashSet<>()).add(oreName);
         //and try to transform registration name into OrePrefix + Material pair
-        OrePrefix orePrefix = OrePrefix.getPrefix(oreName);
-        Material material = null;
-        if(orePrefix == null) {
-            //split ore dict name to parts
-            //oreBasalticMineralSand -> ore, Basaltic, Mineral, Sand
-            ArrayList<String> splits = new ArrayList<>();
-            StringBuilder builder = new StringBuilder();
-            for(char character : oreName.toCharArray()) {
-                if(Character.isUpperCase(character)) {
-                    if(builder.length() > 0) {
-                        splits.add(builder.toString());
-                        builder = new StringBuilder().append(character);
-                    } else splits.add(Character.toString(character));
-                } else builder.append(character);
-            }
-            if(builder.length() > 0) {
-                splits.add(builder.toString());
-            }
-            //try to combine in different manners
-            //oreBasaltic MineralSand , ore BasalticMineralSand
-            StringBuilder buffer = new StringBuilder();
-            for(int i = 0; i < splits.size(); i++) {
-                buffer.append(splits.get(i));
-                OrePrefix maybePrefix = OrePrefix.getPrefix(buffer.toString()); //ore -> OrePrefix.ore
-                String possibleMaterialName = Joiner.on("").join(splits.subList(i + 1, splits.size())); //BasalticMineralSand
-                String underscoreName = CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, possibleMaterialName); //basaltic_mineral_sand
-                Material possibleMaterial = Material.MATERIAL_REGISTRY.getObject(underscoreName); //Materials.BasalticSand
-                if(possibleMaterial == null) {
-                    //if we didn't found real material, try using marker material registry
-                    possibleMaterial = markerMaterialRegistry.get(underscoreName);
-                }
-                if(maybePrefix != null && possibleMaterial != null) {
-                    orePrefix = maybePrefix;
-                    material = possibleMaterial;
-                    break;
-                }
+        UnificationEntry parsedEntry = parsedOreNames.get(oreName);
+        if(parsedEntry == null && !unparsableOreNames.contains(oreName)) {
+            parsedEntry = parseOreName(oreName);
+            if(parsedEntry != null) {
+                parsedOreNames.put(oreName, parsedEntry);
+            } else if(Material.MATERIAL_REGISTRY.isFrozen()) {
+                unparsableOreNames.add(oreName);
             }
         }
+        if(parsedEntry == null) return;
+        OrePrefix orePrefix = parsedEntry.orePrefix;
+        Material material = parsedEntry.material;
 
         //finally register item
-        if(orePrefix != null && (material != null || orePrefix.isSelfReferencing)) {
-            UnificationEntry unificationEntry = new UnificationEntry(orePrefix, material);
-            stackUnificationInfo.put(simpleItemStack, unificationEntry);
-            stackUnificationItems.computeIfAbsent(unificationEntry, p -> new ArrayList<>()).add(simpleItemStack);
+        if(material != null || orePrefix.isSelfReferencing) {
+            stackUnificationInfo.put(simpleItemStack, parsedEntry);
+            ArrayList<SimpleItemStack> unificationItems = stackUnificationItems.computeIfAbsent(parsedEntry, p -> new ArrayList<>());
+            addSorted(unificationItems, simpleItemStack);
+            int stackKey = getUnificatedStackKey(orePrefix, material);
+            if(stackKey != -1) {
+                unificatedStacks.put(stackKey, unificationItems.get(0));
+            }
             if(!(material instanceof MarkerMaterial)) {
                 //trigger processOreRegistration only for real materials
                 orePrefix.processOreRegistration(material);
@@ -148,6 +142,70 @@ public class OreDictUnifier {
         }
     }
 
+    /**
+     * Splits ore dictionary name into OrePrefix and Material on every upper case letter,
+     * for example oreBasalticMineralSand is tried as ore + BasalticMineralSand and oreBasaltic + MineralSand
+     * @return unification entry with prefix and material found, or prefix only if whole name is a prefix,
+     * or null if name cannot be split into them
+     */
+    @Nullable
+    private static UnificationEntry parseOreName(String oreName) {
+        OrePrefix orePrefix = OrePrefix.getPrefix(oreName);
+        if(orePrefix != null) {
+            return new UnificationEntry(orePrefix);
+        }
+        StringBuilder materialName = new StringBuilder();
+        for(int splitIndex = 1; splitIndex < oreName.length(); splitIndex++) {
+            if(!Character.isUpperCase(oreName.charAt(splitIndex))) continue;
+            OrePrefix maybePrefix = OrePrefix.getPrefix(oreName.substring(0, splitIndex)); //ore -> OrePrefix.ore
+            if(maybePrefix == null) continue;
+            //BasalticMineralSand -> basaltic_mineral_sand
+            materialName.setLength(0);
+            for(int i = splitIndex; i < oreName.length(); i++) {
+                char character = oreName.charAt(i);
+                if(character >= 'A' && character <= 'Z') {
+                    if(i > splitIndex) materialName.append('_');
+                    materialName.append((char) (character - 'A' + 'a'));
+                } else materialName.append(character);
+            }
+            String underscoreName = materialName.toString();
+            Material possibleMaterial = Material.MATERIAL_REGISTRY.getObject(underscoreName); //Materials.BasalticSand
+            if(possibleMaterial == null) {
+                //if we didn't found real material, try using marker material registry
+                possibleMaterial = markerMaterialRegistry.get(underscoreName);
+            }
+            if(possibleMaterial != null) {
+                return new UnificationEntry(maybePrefix, possibleMaterial);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inserts stack after all stacks equal to it by comparator,
+     * so list stays in the same order as if it was stable sorted after appending
+     */
+    private static void addSorted(ArrayList<SimpleItemStack> stackList, SimpleItemStack itemStack) {
+        Comparator<SimpleItemStack> comparator = getSimpleItemStackComparator();
+        int insertIndex = stackList.size();
+        while(insertIndex > 0 && comparator.compare(stackList.get(insertIndex - 1), itemStack) > 0) {
+            insertIndex--;
+        }
+        stackList.add(insertIndex, itemStack);
+    }
+
+    /**
+     * @return key of unificated stack cache for given prefix and material,
+     * or -1 if material is not registered in material registry
+     */
+    private static int getUnificatedStackKey(OrePrefix orePrefix, @Nullable Material material) {
+        int materialId = material == null ? -1 : Material.MATERIAL_REGISTRY.getIDForObject(material);
+        if(material != null && materialId == -1) {
+            return -1;
+        }
+        return orePrefix.ordinal() << 16 | (materialId + 1);
+    }
+
     public static Set<String> getOreDictionaryNames(ItemStack itemStack) {
         if(itemStack.isEmpty()) return Collections.emptySet();
         SimpleItemStack simpleItemStack = new SimpleItemStack(itemStack);
@@ -195,7 +253,6 @@ public class OreDictUnifier {
         if(unificationEntry == null || !stackUnificationItems.containsKey(unificationEntry) || !unificationEntry.orePrefix.isUnificationEnabled)
             return itemStack;
         ArrayList<SimpleItemStack> keys = stackUnificationItems.get(unificationEntry);
-        keys.sort(getSimpleItemStackComparator());
         return keys.size() > 0 ? keys.get(0).asItemStack(itemStack.getCount()) : itemStack;
     }
 
@@ -208,12 +265,13 @@ public class OreDictUnifier {
     }
 
     public static ItemStack get(OrePrefix orePrefix, Material material, int stackSize) {
-        UnificationEntry unificationEntry = new UnificationEntry(orePrefix, material);
-        if(!stackUnificationItems.containsKey(unificationEntry))
-            return ItemStack.EMPTY;
-        ArrayList<SimpleItemStack> keys = stackUnificationItems.get(unificationEntry);
-        keys.sort(getSimpleItemStackComparator());
-        return keys.size() > 0 ? keys.get(0).asItemStack(stackSize) : ItemStack.EMPTY;
+        int stackKey = getUnificatedStackKey(orePrefix, material);
+        if(stackKey != -1) {
+            SimpleItemStack unificatedStack = unificatedStacks.get(stackKey);
+            return unificatedStack == null ? ItemStack.EMPTY : unificatedStack.asItemStack(stackSize);
+        }
+        ArrayList<SimpleItemStack> keys = stackUnificationItems.get(new UnificationEntry(orePrefix, material));
+        return keys != null && keys.size() > 0 ? keys.get(0).asItemStack(stackSize) : ItemStack.EMPTY;
     }
 
     public static List<Entry<ItemStack, ItemMaterialInfo>> getAllItemInfos() {
@@ -226,7 +284,6 @@ public class OreDictUnifier {
         if(!stackUnificationItems.containsKey(unificationEntry))
             return Collections.emptyList();
         ArrayList<SimpleItemStack> keys = stackUnificationItems.get(unificationEntry);
-        keys.sort(getSimpleItemStackComparator());
         return keys.stream().map(SimpleItemStack::asItemStack).collect(Collectors.toList());
     }
 
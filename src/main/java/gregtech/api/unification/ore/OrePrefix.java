@@ -472,16 +472,22 @@ public enum OrePrefix {
         return materialAmount;
     }
 
+    //name lookup used instead of Enum.valueOf, which throws on every unknown name
+    private static final Map<String, OrePrefix> PREFIXES_BY_NAME = new HashMap<>();
+
+    static {
+        for(OrePrefix orePrefix : values()) {
+            PREFIXES_BY_NAME.put(orePrefix.name(), orePrefix);
+        }
+    }
+
     public static OrePrefix getPrefix(String prefixName) {
         return getPrefix(prefixName, null);
     }
 
     public static OrePrefix getPrefix(String prefixName, @Nullable OrePrefix replacement) {
-        try {
-            return Enum.valueOf(OrePrefix.class, prefixName);
-        } catch (IllegalArgumentException invalidPrefixName) {
-            return replacement;
-        }
+        OrePrefix orePrefix = PREFIXES_BY_NAME.get(prefixName);
+        return orePrefix == null ? replacement : orePrefix;
     }
 
     public boolean doGenerateItem(Material material) {
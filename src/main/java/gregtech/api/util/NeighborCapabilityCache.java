@@ -0,0 +1,145 @@
+package gregtech.api.util;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.fluids.FluidUtil;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches tile entities and capabilities of six neighbours of single block<p>
+ *
+ * Side is resolved on first access and reused until {@link #invalidate()} is called
+ * on neighbour block change or chunk unload, or until cached tile entity becomes invalid.
+ * Neighbours in other chunks are checked to be loaded on every access, and are never loaded by the cache.
+ * Fluid handlers are resolved like {@link FluidUtil#getFluidHandler}, so fluid blocks are wrapped too.
+ */
+public class NeighborCapabilityCache {
+
+    private static final Object NO_CAPABILITY = new Object();
+    private static final int SIDE_NOT_LOADED = -1;
+    private static final int SIDE_CACHED = 0;
+    private static final int SIDE_RESOLVED = 1;
+
+    private static long cacheHits;
+    private static long cacheMisses;
+
+    private final TileEntity[] neighborTiles = new TileEntity[6];
+    private final boolean[] resolvedSides = new boolean[6];
+    //capabilities queried on every side, NO_CAPABILITY is stored for missing ones
+    private final List<Map<Capability<?>, Object>> neighborCapabilities = new ArrayList<>(6);
+    private final MutableBlockPos neighborPos = new MutableBlockPos();
+
+    public NeighborCapabilityCache() {
+        for(int i = 0; i < 6; i++) {
+            neighborCapabilities.add(new IdentityHashMap<>(4));
+        }
+    }
+
+    /**
+     * @return amount of neighbour queries answered from caches since game start
+     */
+    public static long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * @return amount of neighbour queries which required world or capability lookup since game start
+     */
+    public static long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    @Nullable
+    public TileEntity getNeighborTileEntity(World world, BlockPos pos, EnumFacing side) {
+        int sideState = validateSide(world, pos, side);
+        if(sideState == SIDE_NOT_LOADED) {
+            return null;
+        } else if(sideState == SIDE_RESOLVED) {
+            cacheMisses++;
+        } else cacheHits++;
+        return neighborTiles[side.getIndex()];
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T getNeighborCapability(World world, BlockPos pos, EnumFacing side, Capability<T> capability) {
+        if(validateSide(world, pos, side) == SIDE_NOT_LOADED) {
+            return null;
+        }
+        Map<Capability<?>, Object> capabilities = neighborCapabilities.get(side.getIndex());
+        Object cachedCapability = capabilities.get(capability);
+        if(cachedCapability == null) {
+            cacheMisses++;
+            T resolvedCapability = resolveCapability(world, side, capability);
+            capabilities.put(capability, resolvedCapability == null ? NO_CAPABILITY : resolvedCapability);
+            return resolvedCapability;
+        }
+        cacheHits++;
+        return cachedCapability == NO_CAPABILITY ? null : (T) cachedCapability;
+    }
+
+    /**
+     * Drops all cached neighbours, should be called when neighbour block changes or chunk is unloaded
+     */
+    public void invalidate() {
+        for(int i = 0; i < 6; i++) {
+            invalidateSide(i);
+        }
+    }
+
+    private void invalidateSide(int sideIndex) {
+        this.neighborTiles[sideIndex] = null;
+        this.resolvedSides[sideIndex] = false;
+        this.neighborCapabilities.get(sideIndex).clear();
+    }
+
+    /**
+     * Resolves neighbour tile entity if side isn't cached yet
+     * @return {@link #SIDE_NOT_LOADED} if neighbour is not loaded, {@link #SIDE_RESOLVED} if side was resolved now,
+     * or {@link #SIDE_CACHED} if cached side was used
+     */
+    private int validateSide(World world, BlockPos pos, EnumFacing side) {
+        int sideIndex = side.getIndex();
+        int neighborX = pos.getX() + side.getFrontOffsetX();
+        int neighborZ = pos.getZ() + side.getFrontOffsetZ();
+        boolean otherChunk = neighborX >> 4 != pos.getX() >> 4 || neighborZ >> 4 != pos.getZ() >> 4;
+        neighborPos.setPos(neighborX, pos.getY() + side.getFrontOffsetY(), neighborZ);
+        if(otherChunk && !world.isBlockLoaded(neighborPos)) {
+            invalidateSide(sideIndex);
+            return SIDE_NOT_LOADED;
+        }
+        TileEntity tileEntity = neighborTiles[sideIndex];
+        if(tileEntity != null && tileEntity.isInvalid()) {
+            invalidateSide(sideIndex);
+        }
+        if(!resolvedSides[sideIndex]) {
+            this.neighborTiles[sideIndex] = world.getTileEntity(neighborPos);
+            this.resolvedSides[sideIndex] = true;
+            return SIDE_RESOLVED;
+        }
+        return SIDE_CACHED;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T> T resolveCapability(World world, EnumFacing side, Capability<T> capability) {
+        if(capability == CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY) {
+            return (T) FluidUtil.getFluidHandler(world, neighborPos, side.getOpposite());
+        }
+        TileEntity tileEntity = neighborTiles[side.getIndex()];
+        if(tileEntity == null || !tileEntity.hasCapability(capability, side.getOpposite())) {
+            return null;
+        }
+        return tileEntity.getCapability(capability, side.getOpposite());
+    }
+}
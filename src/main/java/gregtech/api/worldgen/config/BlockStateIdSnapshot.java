@@ -0,0 +1,63 @@
+package gregtech.api.worldgen.config;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+
+/**
+ * Dense snapshot of {@link Block#BLOCK_STATE_IDS}, used by compiled worldgen lookup tables<p>
+ *
+ * Several states of the same block can share single id, so only the state registered last for
+ * each id (the one stored in chunk data) is considered canonical and can be looked up in tables.
+ * Snapshot is retaken when ids are remapped, which invalidates all compiled tables.
+ * Should only be accessed from the server thread.
+ */
+public class BlockStateIdSnapshot {
+
+    private static IBlockState[] statesById = new IBlockState[0];
+    private static int snapshotVersion;
+
+    /**
+     * @return id of given state if it is the canonical state of it's id, -1 otherwise.
+     * Tables should fall back to exact evaluation for states without id
+     */
+    public static int getStateId(IBlockState blockState) {
+        int stateId = Block.BLOCK_STATE_IDS.get(blockState);
+        if(stateId < 0)
+            return -1;
+        if(stateId < statesById.length && statesById[stateId] == blockState)
+            return stateId;
+        if(stateId >= statesById.length || Block.BLOCK_STATE_IDS.getByValue(stateId) != statesById[stateId]) {
+            //block state ids were remapped since snapshot was taken
+            takeSnapshot();
+            return statesById[stateId] == blockState ? stateId : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return version of current snapshot, compiled tables should be rebuilt when it changes
+     */
+    public static int getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    /**
+     * @return canonical states indexed by their id, with null for unused ids
+     */
+    public static IBlockState[] getStatesById() {
+        return statesById;
+    }
+
+    private static void takeSnapshot() {
+        int maxStateId = -1;
+        for(IBlockState blockState : Block.BLOCK_STATE_IDS) {
+            maxStateId = Math.max(maxStateId, Block.BLOCK_STATE_IDS.get(blockState));
+        }
+        IBlockState[] statesById = new IBlockState[maxStateId + 1];
+        for(int stateId = 0; stateId < statesById.length; stateId++) {
+            statesById[stateId] = Block.BLOCK_STATE_IDS.getByValue(stateId);
+        }
+        BlockStateIdSnapshot.statesById = statesById;
+        BlockStateIdSnapshot.snapshotVersion++;
+    }
+}
@@ -0,0 +1,43 @@
+package gregtech.api.worldgen.config;
+
+import net.minecraft.block.state.IBlockState;
+
+import java.util.function.Function;
+
+/**
+ * Deterministic block state filler evaluated once for every canonical block state,
+ * with results stored in array indexed by block state id
+ * Must not be used for fillers returning random states
+ */
+public class CompiledBlockStateFiller implements Function<IBlockState, IBlockState> {
+
+    private final Function<IBlockState, IBlockState> filler;
+    private IBlockState[] filledStates;
+    private int compiledVersion = -1;
+
+    public CompiledBlockStateFiller(Function<IBlockState, IBlockState> filler) {
+        this.filler = filler;
+    }
+
+    @Override
+    public IBlockState apply(IBlockState blockState) {
+        int stateId = BlockStateIdSnapshot.getStateId(blockState);
+        if(stateId == -1)
+            return filler.apply(blockState);
+        if(compiledVersion != BlockStateIdSnapshot.getSnapshotVersion())
+            compile();
+        return filledStates[stateId];
+    }
+
+    private void compile() {
+        IBlockState[] statesById = BlockStateIdSnapshot.getStatesById();
+        IBlockState[] filledStates = new IBlockState[statesById.length];
+        for(int stateId = 0; stateId < statesById.length; stateId++) {
+            if(statesById[stateId] != null) {
+                filledStates[stateId] = filler.apply(statesById[stateId]);
+            }
+        }
+        this.filledStates = filledStates;
+        this.compiledVersion = BlockStateIdSnapshot.getSnapshotVersion();
+    }
+}
@@ -0,0 +1,43 @@
+package gregtech.api.worldgen.config;
+
+import net.minecraft.block.state.IBlockState;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * Block state predicate evaluated once for every canonical block state,
+ * with results stored in bitset indexed by block state id
+ */
+public class CompiledBlockStatePredicate implements Predicate<IBlockState> {
+
+    private final Predicate<IBlockState> predicate;
+    private BitSet matchingStates;
+    private int compiledVersion = -1;
+
+    public CompiledBlockStatePredicate(Predicate<IBlockState> predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    public boolean test(IBlockState blockState) {
+        int stateId = BlockStateIdSnapshot.getStateId(blockState);
+        if(stateId == -1)
+            return predicate.test(blockState);
+        if(compiledVersion != BlockStateIdSnapshot.getSnapshotVersion())
+            compile();
+        return matchingStates.get(stateId);
+    }
+
+    private void compile() {
+        IBlockState[] statesById = BlockStateIdSnapshot.getStatesById();
+        BitSet matchingStates = new BitSet(statesById.length);
+        for(int stateId = 0; stateId < statesById.length; stateId++) {
+            if(statesById[stateId] != null && predicate.test(statesById[stateId])) {
+                matchingStates.set(stateId);
+            }
+        }
+        this.matchingStates = matchingStates;
+        this.compiledVersion = BlockStateIdSnapshot.getSnapshotVersion();
+    }
+}
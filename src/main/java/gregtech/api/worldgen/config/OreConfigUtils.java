@@ -111,7 +111,51 @@ public class OreConfigUtils {
         }
     }
 
+    /**
+     * Creates block state filler from given definition. Fillers which always return the same state
+     * for the same input state are compiled into lookup table over block state ids
+     */
     public static Function<IBlockState, IBlockState> createBlockStateFiller(JsonElement element) {
+        Function<IBlockState, IBlockState> filler = parseBlockStateFiller(element);
+        if(isDeterministicFiller(element) && !isConstantFiller(element)) {
+            return new CompiledBlockStateFiller(filler);
+        }
+        return filler;
+    }
+
+    private static boolean isConstantFiller(JsonElement element) {
+        if(element instanceof JsonPrimitive) {
+            return !element.getAsString().startsWith("ore:");
+        }
+        return element instanceof JsonObject && element.getAsJsonObject().has("block");
+    }
+
+    private static boolean isDeterministicFiller(JsonElement element) {
+        if(!(element instanceof JsonObject) || element.getAsJsonObject().has("block")) {
+            return true;
+        }
+        JsonObject object = element.getAsJsonObject();
+        String predicateType = object.get("type").getAsString();
+        switch (predicateType) {
+            case "stone_type_match":
+                for(StoneType stoneType : StoneType.STONE_TYPE_REGISTRY) {
+                    JsonElement stoneTypeDefinition = object.get(stoneType.name);
+                    if(!stoneTypeDefinition.isJsonNull() && !isDeterministicFiller(stoneTypeDefinition))
+                        return false;
+                }
+                return object.get("default").isJsonNull() || isDeterministicFiller(object.get("default"));
+            case "state_match":
+                for(JsonElement valueDefinition : object.get("values").getAsJsonArray()) {
+                    if(!isDeterministicFiller(valueDefinition.getAsJsonObject().get("value")))
+                        return false;
+                }
+                return object.get("default").isJsonNull() || isDeterministicFiller(object.get("default"));
+            default:
+                return false;
+        }
+    }
+
+    private static Function<IBlockState, IBlockState> parseBlockStateFiller(JsonElement element) {
         if(element instanceof JsonPrimitive) {
             String stringDeclaration = element.getAsString();
             return createSimpleFiller(stringDeclaration);
@@ -183,13 +227,13 @@ public class OreConfigUtils {
             if(!valueDefinition.isJsonObject())
                 throw new IllegalArgumentException("Found invalid value definition: " + valueDefinition);
             JsonObject valueObject = valueDefinition.getAsJsonObject();
-            Predicate<IBlockState> predicate = createBlockStatePredicate(valueObject.get("predicate"));
-            Function<IBlockState, IBlockState> filler = createBlockStateFiller(valueObject.get("value"));
+            Predicate<IBlockState> predicate = parseBlockStatePredicate(valueObject.get("predicate"));
+            Function<IBlockState, IBlockState> filler = parseBlockStateFiller(valueObject.get("value"));
             matchers.add(new SimpleEntry<>(predicate, filler));
         }
         JsonElement defaultElement = object.get("default");
         if(!defaultElement.isJsonNull()) {
-            Function<IBlockState, IBlockState> filler = createBlockStateFiller(defaultElement);
+            Function<IBlockState, IBlockState> filler = parseBlockStateFiller(defaultElement);
             matchers.add(new SimpleEntry<>(state -> true, filler));
         } else {
             //add default element if it isn't defined, to avoid issues
@@ -212,11 +256,11 @@ public class OreConfigUtils {
         for(StoneType stoneType : StoneType.STONE_TYPE_REGISTRY) {
             JsonElement stoneTypeDefinition = object.get(stoneType.name);
             if(stoneTypeDefinition.isJsonNull()) continue;
-            stateByStoneType.put(stoneType, createBlockStateFiller(stoneTypeDefinition));
+            stateByStoneType.put(stoneType, parseBlockStateFiller(stoneTypeDefinition));
         }
         JsonElement defaultElement = object.get("default");
         if(!defaultElement.isJsonNull()) {
-            Function<IBlockState, IBlockState> defaultFiller = createBlockStateFiller(defaultElement);
+            Function<IBlockState, IBlockState> defaultFiller = parseBlockStateFiller(defaultElement);
             stateByStoneType.put(StoneTypes._NULL, defaultFiller);
         } else {
             //if no default element is defined, define it as air to avoid issues
@@ -241,7 +285,7 @@ public class OreConfigUtils {
             if (weight <= 0) {
                 throw new IllegalArgumentException("Invalid weight: " + weight);
             }
-            Function<IBlockState, IBlockState> filler = createBlockStateFiller(randomObject.get("value"));
+            Function<IBlockState, IBlockState> filler = parseBlockStateFiller(randomObject.get("value"));
             randomList.add(new SimpleEntry<>(weight, filler));
         }
         return state -> {
@@ -255,7 +299,7 @@ public class OreConfigUtils {
         JsonArray values = object.get("values").getAsJsonArray();
         ArrayList<Function<IBlockState, IBlockState>> randomList = new ArrayList<>();
         for (JsonElement randomElement : values) {
-            randomList.add(createBlockStateFiller(randomElement));
+            randomList.add(parseBlockStateFiller(randomElement));
         }
         return state -> {
             Function<IBlockState, IBlockState> randomFunction = randomList.get(blockStateRandom.nextInt(randomList.size()));
@@ -300,7 +344,14 @@ public class OreConfigUtils {
         }
     }
 
+    /**
+     * Creates block state predicate from given definition, compiled into bitset over block state ids
+     */
     public static Predicate<IBlockState> createBlockStatePredicate(JsonElement element) {
+        return new CompiledBlockStatePredicate(parseBlockStatePredicate(element));
+    }
+
+    private static Predicate<IBlockState> parseBlockStatePredicate(JsonElement element) {
         if(element instanceof JsonPrimitive) {
             String stringDeclaration = element.getAsString();
             return createSimpleStatePredicate(stringDeclaration);
@@ -313,9 +364,15 @@ public class OreConfigUtils {
             JsonArray array = element.getAsJsonArray();
             ArrayList<Predicate<IBlockState>> allPredicates = new ArrayList<>();
             for(JsonElement arrayElement : array) {
-                allPredicates.add(createBlockStatePredicate(arrayElement));
+                allPredicates.add(parseBlockStatePredicate(arrayElement));
             }
-            return state -> allPredicates.stream().anyMatch(p -> p.test(state));
+            return state -> {
+                for(Predicate<IBlockState> predicate : allPredicates) {
+                    if(predicate.test(state))
+                        return true;
+                }
+                return false;
+            };
         } else {
             throw new IllegalArgumentException("Unsupported block state variant predicate type: " + element);
         }
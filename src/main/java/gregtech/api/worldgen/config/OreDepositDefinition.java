@@ -30,7 +30,7 @@ public class OreDepositDefinition {
 
     public static final Function<Biome, Integer> NO_BIOME_INFLUENCE = biome -> 0;
     public static final Predicate<WorldProvider> PREDICATE_SURFACE_WORLD = WorldProvider::isSurfaceWorld;
-    public static final Predicate<IBlockState> PREDICATE_STONE_TYPE = state -> StoneType.computeStoneType(state) != StoneTypes._NULL;
+    public static final Predicate<IBlockState> PREDICATE_STONE_TYPE = new CompiledBlockStatePredicate(state -> StoneType.computeStoneType(state) != StoneTypes._NULL);
 
     private final String depositName;
 
@@ -1,54 +1,31 @@
 package gregtech.api.worldgen.generator;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import gnu.trove.list.TLongList;
-import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TIntIntMap;
 import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntIntHashMap;
 import gnu.trove.map.hash.TLongObjectHashMap;
+import gregtech.api.util.GTLog;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.XSTR;
 import gregtech.api.worldgen.config.OreDepositDefinition;
 import gregtech.api.worldgen.config.WorldGenRegistry;
 import gregtech.common.ConfigHolder;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.TimeUnit;
 
 public class CachedGridEntry implements IBlockGeneratorAccess {
 
-    private static final Map<World, LoadingCache<Long, CachedGridEntry>> gridEntryCache = new WeakHashMap<>();
-
     public static CachedGridEntry getOrCreateEntry(World world, int gridX, int gridZ) {
-        LoadingCache<Long, CachedGridEntry> currentValue = gridEntryCache.get(world);
-        if(currentValue == null) {
-            currentValue = createGridCache(world);
-            gridEntryCache.put(world, currentValue);
-        }
-        Long gridEntryKey = (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
-        return currentValue.getUnchecked(gridEntryKey);
-    }
-
-    private static LoadingCache<Long, CachedGridEntry> createGridCache(World world) {
-        return CacheBuilder.newBuilder()
-            .maximumSize(300)
-            .expireAfterAccess(5L, TimeUnit.MINUTES)
-            .build(new CacheLoader<Long, CachedGridEntry>() {
-                @Override
-                public CachedGridEntry load(Long key) {
-                    long actualKey = key;
-                    int gridX = (int) (actualKey >> 32);
-                    int gridZ = (int) actualKey;
-                    return new CachedGridEntry(world, gridX, gridZ);
-                }
-            });
+        return OreVeinGridCache.getWorldCache(world).getOrCreateEntry(world, gridX, gridZ);
     }
 
     private final TLongObjectMap<ChunkDataEntry> dataByChunkPos = new TLongObjectHashMap<>();
@@ -75,9 +52,27 @@ public class CachedGridEntry implements IBlockGeneratorAccess {
         Biome currentBiome = world.getBiomeProvider().getBiome(blockPos);
         this.cachedDepositMap = new ArrayList<>(WorldGenRegistry.INSTANCE.getCachedBiomeVeins(world.provider, currentBiome));
         this.maxHeight = world.getActualHeight();
+    }
+
+    /**
+     * Generates vein layout of this grid. Depends only on data captured in constructor,
+     * so it can be called from any thread, but only once and before entry is used for population
+     */
+    void generateVeins() {
         this.generatedVeins = triggerVeinsGeneration();
     }
 
+    /**
+     * @return rough estimate of memory used by this entry in bytes, used to bound cache size
+     */
+    int getEstimatedMemoryUsage() {
+        int memoryUsage = 256;
+        for(ChunkDataEntry chunkDataEntry : dataByChunkPos.valueCollection()) {
+            memoryUsage += chunkDataEntry.getEstimatedMemoryUsage();
+        }
+        return memoryUsage;
+    }
+
     public List<OreDepositDefinition> getGeneratedVeins() {
         return Collections.unmodifiableList(generatedVeins);
     }
@@ -162,51 +157,183 @@ public class CachedGridEntry implements IBlockGeneratorAccess {
     }
 
 
+    /**
+     * Ore veins layer of single chunk, stored as palette index for every block of 16x16x16 chunk section<p>
+     *
+     * Palette entry is the list of veins covering block, in generation order, so priority mixing is
+     * done by overwriting block index, and veins are still applied on top of each other on population.
+     * Indexes are packed as nibbles while palette has at most 16 entries, and widened to bytes
+     * and then to shorts when palette grows over 16 and 256 entries.
+     */
     public static class ChunkDataEntry {
 
-        private final Map<OreDepositDefinition, TLongList> oreBlocks = new HashMap<>();
+        private static final int[] EMPTY_LAYERS = new int[0];
+        private static final int MAX_NIBBLE_PALETTE_SIZE = 16;
+        private static final int MAX_BYTE_PALETTE_SIZE = 256;
+        private static final int MAX_PALETTE_SIZE = 65536;
+
+        private final List<OreDepositDefinition> definitions = new ArrayList<>();
+        //palette entries are indexes of definitions, entry at index 0 means no vein
+        private final List<int[]> palette = new ArrayList<>();
+        //key is palette index << 16 | definition index, value is palette index after adding definition on top
+        private final TIntIntMap paletteTransitions = new TIntIntHashMap(16, 0.5f, -1, -1);
+        private final byte[][] sectionIndexes = new byte[16][];
+        //bits used by single palette index in section indexes, either 4, 8 or 16
+        private int indexBits = 4;
         private final int chunkX;
         private final int chunkZ;
 
         public ChunkDataEntry(int chunkX, int chunkZ) {
             this.chunkX = chunkX;
             this.chunkZ = chunkZ;
+            this.palette.add(EMPTY_LAYERS);
         }
 
         public void setBlock(int x, int y, int z, OreDepositDefinition definition) {
-            int xzValue = ((x & 0xFF) << 8) | (z & 0xFF);
-            long blockIndex = (long) xzValue << 32 | y & 0xFFFFFFFFL;
-            TLongList longList = oreBlocks.get(definition);
-            if(longList == null) {
-                longList = new TLongArrayList();
-                oreBlocks.put(definition, longList);
+            if(y < 0 || y >= 256)
+                return; //block cannot be placed outside of world height anyway
+            int definitionIndex = definitions.indexOf(definition);
+            if(definitionIndex == -1) {
+                definitionIndex = definitions.size();
+                definitions.add(definition);
+            }
+            int blockIndex = (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+            int paletteIndex = getPaletteIndex(y >> 4, blockIndex);
+            int[] layers = palette.get(paletteIndex);
+            if(layers.length > 0 && layers[layers.length - 1] == definitionIndex)
+                return; //same vein already covers this block
+            int newPaletteIndex = paletteTransitions.get(paletteIndex << 16 | definitionIndex);
+            if(newPaletteIndex == -1) {
+                if(palette.size() == MAX_PALETTE_SIZE) {
+                    GTLog.logger.warn("Ore vein palette of chunk {} {} is exhausted, skipping vein {} at {} {} {}",
+                        chunkX, chunkZ, definition.getDepositName(), x, y, z);
+                    return;
+                }
+                newPaletteIndex = palette.size();
+                int[] newLayers = Arrays.copyOf(layers, layers.length + 1);
+                newLayers[layers.length] = definitionIndex;
+                palette.add(newLayers);
+                paletteTransitions.put(paletteIndex << 16 | definitionIndex, newPaletteIndex);
+                if(newPaletteIndex == MAX_NIBBLE_PALETTE_SIZE || newPaletteIndex == MAX_BYTE_PALETTE_SIZE) {
+                    widenIndexes();
+                }
             }
-            longList.add(blockIndex);
+            setPaletteIndex(y >> 4, blockIndex, newPaletteIndex);
+        }
+
+        private int getPaletteIndex(int sectionIndex, int blockIndex) {
+            byte[] indexes = sectionIndexes[sectionIndex];
+            if(indexes == null) {
+                return 0;
+            }
+            return getPaletteIndex(indexes, indexBits, blockIndex);
+        }
+
+        private static int getPaletteIndex(byte[] indexes, int indexBits, int blockIndex) {
+            if(indexBits == 16) {
+                return (indexes[blockIndex << 1] & 0xFF) | (indexes[(blockIndex << 1) + 1] & 0xFF) << 8;
+            } else if(indexBits == 8) {
+                return indexes[blockIndex] & 0xFF;
+            }
+            return (indexes[blockIndex >> 1] >> ((blockIndex & 1) << 2)) & 15;
+        }
+
+        private void setPaletteIndex(int sectionIndex, int blockIndex, int paletteIndex) {
+            byte[] indexes = sectionIndexes[sectionIndex];
+            if(indexes == null) {
+                indexes = new byte[4096 * indexBits / 8];
+                sectionIndexes[sectionIndex] = indexes;
+            }
+            if(indexBits == 16) {
+                indexes[blockIndex << 1] = (byte) paletteIndex;
+                indexes[(blockIndex << 1) + 1] = (byte) (paletteIndex >> 8);
+            } else if(indexBits == 8) {
+                indexes[blockIndex] = (byte) paletteIndex;
+            } else {
+                int shift = (blockIndex & 1) << 2;
+                indexes[blockIndex >> 1] = (byte) ((indexes[blockIndex >> 1] & ~(15 << shift)) | paletteIndex << shift);
+            }
+        }
+
+        private void widenIndexes() {
+            int oldIndexBits = indexBits;
+            this.indexBits = oldIndexBits * 2;
+            for(int sectionIndex = 0; sectionIndex < sectionIndexes.length; sectionIndex++) {
+                byte[] indexes = sectionIndexes[sectionIndex];
+                if(indexes == null) continue;
+                sectionIndexes[sectionIndex] = null;
+                for(int blockIndex = 0; blockIndex < 4096; blockIndex++) {
+                    int paletteIndex = getPaletteIndex(indexes, oldIndexBits, blockIndex);
+                    if(paletteIndex != 0) {
+                        setPaletteIndex(sectionIndex, blockIndex, paletteIndex);
+                    }
+                }
+            }
+        }
+
+        int getEstimatedMemoryUsage() {
+            int memoryUsage = 128 + palette.size() * 48;
+            for(byte[] indexes : sectionIndexes) {
+                if(indexes != null) {
+                    memoryUsage += 16 + indexes.length;
+                }
+            }
+            return memoryUsage;
         }
 
         public boolean populateChunk(World world) {
+            Chunk chunk = world.getChunkFromChunkCoords(chunkX, chunkZ);
+            ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
             MutableBlockPos blockPos = new MutableBlockPos();
             boolean generatedAnything = false;
-            for(OreDepositDefinition definition : oreBlocks.keySet()) {
-                long[] blockIndexArray = oreBlocks.get(definition).toArray();
-                for(long blockIndex : blockIndexArray) {
-                    int xzValue = (int) (blockIndex >> 32);
-                    int blockY = (int) blockIndex;
-                    int blockX = (byte) (xzValue >> 8);
-                    int blockZ = (byte) xzValue;
+            for(int sectionIndex = 0; sectionIndex < sectionIndexes.length; sectionIndex++) {
+                if(sectionIndexes[sectionIndex] == null) continue;
+                for(int blockIndex = 0; blockIndex < 4096; blockIndex++) {
+                    int paletteIndex = getPaletteIndex(sectionIndex, blockIndex);
+                    if(paletteIndex == 0) continue;
+                    int blockX = blockIndex & 15;
+                    int blockZ = (blockIndex >> 4) & 15;
+                    int sectionY = blockIndex >> 8;
+                    int blockY = sectionIndex * 16 + sectionY;
                     blockPos.setPos(chunkX * 16 + blockX, blockY, chunkZ * 16 + blockZ);
-                    IBlockState currentState = world.getBlockState(blockPos);
-                    if(!definition.getGenerationPredicate().test(currentState))
-                        continue; //do not generate if predicate didn't match
-                    IBlockState newState = definition.getBlockFiller().getStateForGeneration(currentState, blockX, blockY, blockZ);
-                    //set flags as 16 to avoid observer updates loading neighbour chunks
-                    world.setBlockState(blockPos, newState, 16);
-                    generatedAnything = true;
+                    ExtendedBlockStorage storage = storageArray[sectionIndex];
+                    IBlockState currentState = storage == Chunk.NULL_BLOCK_STORAGE ?
+                        Blocks.AIR.getDefaultState() : storage.get(blockX, sectionY, blockZ);
+                    //veins are applied in generation order, so later ones can replace blocks of earlier ones
+                    for(int definitionIndex : palette.get(paletteIndex)) {
+                        OreDepositDefinition definition = definitions.get(definitionIndex);
+                        if(!definition.getGenerationPredicate().test(currentState))
+                            continue; //do not generate if predicate didn't match
+                        IBlockState newState = definition.getBlockFiller().getStateForGeneration(currentState, blockX, blockY, blockZ);
+                        if(storage == Chunk.NULL_BLOCK_STORAGE || requiresWorldUpdate(world, blockPos, currentState, newState)) {
+                            //set flags as 16 to avoid observer updates loading neighbour chunks
+                            world.setBlockState(blockPos, newState, 16);
+                            storage = storageArray[sectionIndex];
+                        } else {
+                            storage.set(blockX, sectionY, blockZ, newState);
+                        }
+                        currentState = newState;
+                        generatedAnything = true;
+                    }
                 }
             }
+            if(generatedAnything) {
+                chunk.markDirty();
+            }
             return generatedAnything;
         }
 
+        /**
+         * Direct storage writes skip tile entity creation, height map and light updates,
+         * so replacements affecting any of these still go through the world
+         */
+        private static boolean requiresWorldUpdate(World world, BlockPos blockPos, IBlockState currentState, IBlockState newState) {
+            return currentState.getBlock().hasTileEntity(currentState) ||
+                newState.getBlock().hasTileEntity(newState) ||
+                currentState.getLightOpacity(world, blockPos) != newState.getLightOpacity(world, blockPos) ||
+                currentState.getLightValue(world, blockPos) != newState.getLightValue(world, blockPos);
+        }
+
     }
 
 }
@@ -0,0 +1,133 @@
+package gregtech.api.worldgen.generator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gregtech.api.util.GTLog;
+import gregtech.common.ConfigHolder;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Per-world cache of generated ore vein grid entries<p>
+ *
+ * Cache is bounded by estimated memory usage of entries, as configured in {@link ConfigHolder#oreVeinCacheSizeMB}.
+ * Vein layouts of grids around the ones being populated are computed ahead of time on background thread,
+ * so chunk population only needs to apply already computed layout.
+ * Grid entries themselves are always created on the server thread, because they need biome information,
+ * and only vein layout generation, which depends only on world seed and biome, is done in background.
+ */
+public class OreVeinGridCache {
+
+    private static final Map<World, OreVeinGridCache> worldCaches = new WeakHashMap<>();
+    private static ExecutorService precomputeExecutor;
+
+    private final Cache<Long, CachedGridEntry> gridEntries;
+    //accessed only from server thread
+    private final TLongObjectMap<Future<CachedGridEntry>> pendingEntries = new TLongObjectHashMap<>();
+
+    private OreVeinGridCache() {
+        this.gridEntries = CacheBuilder.newBuilder()
+            .maximumWeight(ConfigHolder.oreVeinCacheSizeMB * 1024L * 1024L)
+            .weigher((Long key, CachedGridEntry entry) -> entry.getEstimatedMemoryUsage())
+            .build();
+    }
+
+    public static OreVeinGridCache getWorldCache(World world) {
+        OreVeinGridCache worldCache = worldCaches.get(world);
+        if(worldCache == null) {
+            worldCache = new OreVeinGridCache();
+            worldCaches.put(world, worldCache);
+        }
+        return worldCache;
+    }
+
+    public CachedGridEntry getOrCreateEntry(World world, int gridX, int gridZ) {
+        long gridEntryKey = getGridEntryKey(gridX, gridZ);
+        CachedGridEntry gridEntry = gridEntries.getIfPresent(gridEntryKey);
+        if(gridEntry != null) {
+            return gridEntry;
+        }
+        Future<CachedGridEntry> pendingEntry = pendingEntries.remove(gridEntryKey);
+        if(pendingEntry != null) {
+            gridEntry = getPrecomputedEntry(pendingEntry);
+        }
+        if(gridEntry == null) {
+            gridEntry = new CachedGridEntry(world, gridX, gridZ);
+            gridEntry.generateVeins();
+        }
+        gridEntries.put(gridEntryKey, gridEntry);
+        return gridEntry;
+    }
+
+    /**
+     * Schedules background generation of veins for all grids in given radius around given grid,
+     * which are not cached or scheduled yet
+     */
+    public void precomputeEntries(World world, int centerGridX, int centerGridZ, int radius) {
+        collectCompletedEntries();
+        for(int gridX = centerGridX - radius; gridX <= centerGridX + radius; gridX++) {
+            for(int gridZ = centerGridZ - radius; gridZ <= centerGridZ + radius; gridZ++) {
+                long gridEntryKey = getGridEntryKey(gridX, gridZ);
+                if(gridEntries.getIfPresent(gridEntryKey) != null || pendingEntries.containsKey(gridEntryKey))
+                    continue;
+                CachedGridEntry gridEntry = new CachedGridEntry(world, gridX, gridZ);
+                pendingEntries.put(gridEntryKey, getPrecomputeExecutor().submit(() -> {
+                    gridEntry.generateVeins();
+                    return gridEntry;
+                }));
+            }
+        }
+    }
+
+    //moves finished background entries into the cache, so pending map only holds running tasks
+    private void collectCompletedEntries() {
+        TLongObjectIterator<Future<CachedGridEntry>> iterator = pendingEntries.iterator();
+        while(iterator.hasNext()) {
+            iterator.advance();
+            if(iterator.value().isDone()) {
+                CachedGridEntry gridEntry = getPrecomputedEntry(iterator.value());
+                if(gridEntry != null) {
+                    gridEntries.put(iterator.key(), gridEntry);
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    private static CachedGridEntry getPrecomputedEntry(Future<CachedGridEntry> pendingEntry) {
+        try {
+            return pendingEntry.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException exception) {
+            GTLog.logger.warn("Failed to precompute ore vein grid entry, it will be generated again", exception.getCause());
+            return null;
+        }
+    }
+
+    private static ExecutorService getPrecomputeExecutor() {
+        if(precomputeExecutor == null) {
+            precomputeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "GregTech Ore Vein Precompute");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return precomputeExecutor;
+    }
+
+    private static long getGridEntryKey(int gridX, int gridZ) {
+        return (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
+    }
+}
@@ -36,6 +36,8 @@ public class WorldGeneratorImpl implements IWorldGenerator {
         COAL, DIAMOND, GOLD, IRON, LAPIS, REDSTONE, QUARTZ, DIORITE, GRANITE, ANDESITE, EMERALD);
     public static final int GRID_SIZE_X = 3;
     public static final int GRID_SIZE_Z = 3;
+    //radius in grids around currently generated grid which vein layouts are computed ahead of time in
+    private static final int PRECOMPUTE_GRID_RADIUS = 2;
 
     @SubscribeEvent(priority = EventPriority.HIGH)
     public void onOreGenerate(OreGenEvent.GenerateMinable event) {
@@ -51,6 +53,9 @@ public class WorldGeneratorImpl implements IWorldGenerator {
         int selfGridX = Math.floorDiv(chunkX, GRID_SIZE_X);
         int selfGridZ = Math.floorDiv(chunkZ, GRID_SIZE_Z);
         List<OreDepositDefinition> generatedOres = generateInternal(world, selfGridX, selfGridZ, chunkX, chunkZ);
+        if(ConfigHolder.precomputeOreVeins) {
+            OreVeinGridCache.getWorldCache(world).precomputeEntries(world, selfGridX, selfGridZ, PRECOMPUTE_GRID_RADIUS);
+        }
 
         //if we didn't generate anything, or surface rocks disabled, or it is a flat world,
         //do not generate them at all
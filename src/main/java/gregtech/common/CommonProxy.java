@@ -5,6 +5,7 @@ import gregtech.api.block.machines.MachineItemBlock;
 import gregtech.api.enchants.EnchantmentEnderDamage;
 import gregtech.api.enchants.EnchantmentRadioactivity;
 import gregtech.api.items.metaitem.MetaItem;
+import gregtech.api.recipes.ModHandler;
 import gregtech.api.unification.material.type.DustMaterial;
 import gregtech.api.unification.material.type.Material;
 import gregtech.api.unification.ore.OrePrefix;
@@ -150,6 +151,9 @@ public class CommonProxy {
         CraftingRecipeLoader.init();
         MetaTileEntityLoader.init();
         RecipeHandlerList.register();
+
+        int recipesRemoved = ModHandler.flushRecipeRemovals();
+        GTLog.logger.info("Removed {} crafting recipes", recipesRemoved);
     }
 
     //this is called almost last, to make sure all mods registered their ore dictionary
@@ -167,6 +171,8 @@ public class CommonProxy {
     public static void registerRecipesLowest(RegistryEvent.Register<IRecipe> event) {
         GTLog.logger.info("Running late material handlers...");
         OrePrefix.runMaterialHandlers();
+        //final flush of removals, including ones queued by material handlers
+        ModHandler.finishRecipeRemovals();
     }
 
     @SubscribeEvent
@@ -18,6 +18,14 @@ public class ConfigHolder {
     @Config.Comment("Specifies additional random amount of veins in section")
     public static int additionalVeinsInSection = 2;
 
+    @Config.RangeInt(min = 1)
+    @Config.Comment("Maximum memory in megabytes used to cache generated ore vein layouts per dimension. Default: 64")
+    @Config.RequiresWorldRestart
+    public static int oreVeinCacheSizeMB = 64;
+
+    @Config.Comment("Whether to compute ore vein layouts around generated chunks ahead of time on background thread. Default: true")
+    public static boolean precomputeOreVeins = true;
+
     @Config.Comment("True to enable surface rocks indicating vein under them")
     public static boolean enableOreVeinSurfaceRocks = true;
 
@@ -27,6 +35,10 @@ public class ConfigHolder {
     @Config.Comment("Whether to disable rubber tree world generation. Default is false.")
     public static boolean disableRubberTreeGeneration = false;
 
+    @Config.RangeInt(min = 1)
+    @Config.Comment("Maximum amount of blocks checked by pump per tick while searching for fluid source blocks. Default: 256")
+    public static int pumpScanBlocksPerTick = 256;
+
     @Config.Comment("Whether machines should explode when overloaded with power. Default: true")
     public static boolean doExplosions = true;
 
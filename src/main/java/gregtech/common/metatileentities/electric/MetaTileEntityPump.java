@@ -17,8 +17,7 @@ import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.metatileentity.MetaTileEntityHolder;
 import gregtech.api.metatileentity.TieredMetaTileEntity;
 import gregtech.api.render.Textures;
-import net.minecraft.block.BlockLiquid;
-import net.minecraft.block.state.IBlockState;
+import gregtech.common.ConfigHolder;
 import net.minecraft.client.resources.I18n;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
@@ -31,7 +30,6 @@ import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTank;
 import net.minecraftforge.fluids.FluidUtil;
-import net.minecraftforge.fluids.IFluidBlock;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -39,8 +37,6 @@ import net.minecraftforge.items.IItemHandlerModifiable;
 import net.minecraftforge.items.ItemStackHandler;
 
 import javax.annotation.Nullable;
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
 
 public class MetaTileEntityPump extends TieredMetaTileEntity {
@@ -49,8 +45,7 @@ public class MetaTileEntityPump extends TieredMetaTileEntity {
     private static final int MAX_PUMP_RANGE = 32;
     private static final int PUMP_SPEED_BASE = 60;
 
-    private Deque<BlockPos> fluidSourceBlocks = new ArrayDeque<>();
-    private Deque<BlockPos> blocksToCheck = new ArrayDeque<>();
+    private final PumpFluidScanner fluidScanner = new PumpFluidScanner(MAX_PUMP_RANGE, this::isStraightInPumpRange);
     private boolean initializedQueue = false;
     private int pumpHeadY;
 
@@ -156,31 +151,10 @@ public class MetaTileEntityPump extends TieredMetaTileEntity {
     }
 
     private void updateQueueState() {
-        BlockPos selfPos = getPos().down(pumpHeadY);
-        if(!blocksToCheck.isEmpty()) {
-            BlockPos checkPos = this.blocksToCheck.poll();
-            IBlockState blockHere = getWorld().getBlockState(checkPos);
-            boolean shouldCheckNeighbours = isStraightInPumpRange(checkPos);
-            if(blockHere.getBlock() instanceof BlockLiquid ||
-                blockHere.getBlock() instanceof IFluidBlock) {
-                IFluidHandler fluidHandler = FluidUtil.getFluidHandler(getWorld(), checkPos, null);
-                FluidStack drainStack = fluidHandler.drain(Integer.MAX_VALUE, false);
-                if(drainStack != null && drainStack.amount > 0) {
-                    this.fluidSourceBlocks.add(checkPos);
-                }
-                shouldCheckNeighbours = true;
-            }
-
-            if(shouldCheckNeighbours) {
-                for(EnumFacing facing : EnumFacing.VALUES) {
-                    BlockPos offsetPos = checkPos.offset(facing);
-                    if(offsetPos.distanceSq(selfPos) > MAX_PUMP_RANGE * MAX_PUMP_RANGE)
-                        continue; //do not add blocks outside bounds
-                    this.blocksToCheck.add(offsetPos);
-                }
-            }
+        if(!fluidScanner.isScanFinished()) {
+            fluidScanner.scan(getWorld(), ConfigHolder.pumpScanBlocksPerTick);
 
-        } else if(fluidSourceBlocks.isEmpty()) {
+        } else if(!fluidScanner.hasFluidSources()) {
             if(getTimer() % 20 == 0 && pumpHeadY < 50) {
                 this.pumpHeadY++;
                 writeCustomData(-200, b -> b.writeInt(pumpHeadY));
@@ -191,26 +165,30 @@ public class MetaTileEntityPump extends TieredMetaTileEntity {
 
             if(!initializedQueue || getTimer() % 6000 == 0) {
                 this.initializedQueue = true;
-                //just add ourselves to check list and see how this will go
-                this.blocksToCheck.add(selfPos);
+                //start scanning from pump head and see how this will go
+                this.fluidScanner.startScan(getPos().down(pumpHeadY));
             }
         }
     }
 
     private void tryPumpFirstBlock() {
-        BlockPos fluidBlockPos = fluidSourceBlocks.poll();
+        BlockPos fluidBlockPos = fluidScanner.getFirstFluidSource();
         if(fluidBlockPos == null) return;
-        IBlockState blockHere = getWorld().getBlockState(fluidBlockPos);
-        if(blockHere.getBlock() instanceof BlockLiquid ||
-            blockHere.getBlock() instanceof IFluidBlock) {
-            IFluidHandler fluidHandler = FluidUtil.getFluidHandler(getWorld(), fluidBlockPos, null);
-            FluidStack drainStack = fluidHandler.drain(Integer.MAX_VALUE, false);
-            if(drainStack != null && exportFluids.fill(drainStack, false) == drainStack.amount) {
-                exportFluids.fill(drainStack, true);
-                fluidHandler.drain(drainStack.amount, true);
-                this.fluidSourceBlocks.remove(fluidBlockPos);
-                energyContainer.changeEnergy(-GTValues.V[getTier()]);
-            }
+        if(!getWorld().isBlockLoaded(fluidBlockPos) ||
+            !PumpFluidScanner.isFluidBlock(getWorld().getBlockState(fluidBlockPos))) {
+            this.fluidScanner.removeFirstFluidSource();
+            return;
+        }
+        IFluidHandler fluidHandler = FluidUtil.getFluidHandler(getWorld(), fluidBlockPos, null);
+        FluidStack drainStack = fluidHandler == null ? null : fluidHandler.drain(Integer.MAX_VALUE, false);
+        if(drainStack == null || drainStack.amount == 0) {
+            //source block was drained or replaced since it was found
+            this.fluidScanner.removeFirstFluidSource();
+        } else if(exportFluids.fill(drainStack, false) == drainStack.amount) {
+            exportFluids.fill(drainStack, true);
+            fluidHandler.drain(drainStack.amount, true);
+            this.fluidScanner.removeFirstFluidSource();
+            energyContainer.changeEnergy(-GTValues.V[getTier()]);
         }
     }
 
@@ -227,7 +205,7 @@ public class MetaTileEntityPump extends TieredMetaTileEntity {
         pushFluidsIntoNearbyHandlers(getFrontFacing());
         fillContainerFromInternalTank(importItems, exportItems, 0, 0);
         updateQueueState();
-        if(getTimer() % getPumpingCycleLength() == 0 && !fluidSourceBlocks.isEmpty() &&
+        if(getTimer() % getPumpingCycleLength() == 0 && fluidScanner.hasFluidSources() &&
             energyContainer.getEnergyStored() >= GTValues.V[getTier()]) {
             tryPumpFirstBlock();
         }
@@ -0,0 +1,163 @@
+package gregtech.common.metatileentities.electric;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import net.minecraft.block.BlockLiquid;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidUtil;
+import net.minecraftforge.fluids.IFluidBlock;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * Breadth-first search of fluid source blocks around pump head, limited by amount of blocks checked per tick<p>
+ *
+ * Visited blocks are tracked in bit set covering cube of scan range around the head, so every block
+ * is checked at most once per scan and memory used by scan is bounded. Blocks in unloaded chunks are never
+ * accessed and are left for the next scan. Found source blocks are kept sorted,
+ * so highest and then farthest sources are pumped first.
+ */
+public class PumpFluidScanner {
+
+    private final int range;
+    private final int sideLength;
+    private final Predicate<BlockPos> alwaysCheckNeighbours;
+
+    private BitSet visitedBlocks;
+    //queue of local indexes of blocks to check, entries before queueHead are already checked
+    private final TIntArrayList blocksToCheck = new TIntArrayList();
+    private int queueHead;
+    //entries are y << 32 | distance squared << 20 | local index, sorted in ascending order
+    private final TLongArrayList fluidSources = new TLongArrayList();
+
+    private final MutableBlockPos blockPos = new MutableBlockPos();
+    private final MutableBlockPos neighbourPos = new MutableBlockPos();
+    private BlockPos origin = BlockPos.ORIGIN;
+
+    /**
+     * @param range                 maximum distance of checked blocks from scan origin
+     * @param alwaysCheckNeighbours positions which neighbours are checked even if they are not fluid blocks
+     */
+    public PumpFluidScanner(int range, Predicate<BlockPos> alwaysCheckNeighbours) {
+        this.range = range;
+        this.sideLength = range * 2 + 1;
+        this.alwaysCheckNeighbours = alwaysCheckNeighbours;
+    }
+
+    public static boolean isFluidBlock(IBlockState blockState) {
+        return blockState.getBlock() instanceof BlockLiquid ||
+            blockState.getBlock() instanceof IFluidBlock;
+    }
+
+    /**
+     * Discards results of previous scan and starts new one from given position
+     */
+    public void startScan(BlockPos origin) {
+        if(visitedBlocks == null) {
+            this.visitedBlocks = new BitSet(sideLength * sideLength * sideLength);
+        } else {
+            this.visitedBlocks.clear();
+        }
+        this.origin = origin.toImmutable();
+        this.blocksToCheck.clear();
+        this.queueHead = 0;
+        this.fluidSources.clear();
+        int originIndex = getLocalIndex(0, 0, 0);
+        this.visitedBlocks.set(originIndex);
+        this.blocksToCheck.add(originIndex);
+    }
+
+    public boolean isScanFinished() {
+        return queueHead == blocksToCheck.size();
+    }
+
+    /**
+     * Checks at most given amount of blocks from scan queue
+     */
+    public void scan(World world, int blockBudget) {
+        int checkedBlocks = 0;
+        while(queueHead < blocksToCheck.size() && checkedBlocks < blockBudget) {
+            int localIndex = blocksToCheck.get(queueHead++);
+            setLocalPos(localIndex, blockPos);
+            checkedBlocks++;
+            if(!world.isBlockLoaded(blockPos))
+                continue; //do not load chunks, block will be checked by the next scan
+            IBlockState blockHere = world.getBlockState(blockPos);
+            boolean shouldCheckNeighbours = alwaysCheckNeighbours.test(blockPos);
+            if(isFluidBlock(blockHere)) {
+                IFluidHandler fluidHandler = FluidUtil.getFluidHandler(world, blockPos, null);
+                FluidStack drainStack = fluidHandler == null ? null : fluidHandler.drain(Integer.MAX_VALUE, false);
+                if(drainStack != null && drainStack.amount > 0) {
+                    addFluidSource(localIndex);
+                }
+                shouldCheckNeighbours = true;
+            }
+            if(shouldCheckNeighbours) {
+                for(EnumFacing facing : EnumFacing.VALUES) {
+                    neighbourPos.setPos(blockPos).move(facing);
+                    if(neighbourPos.distanceSq(origin) > range * range)
+                        continue; //do not add blocks outside bounds
+                    int neighbourIndex = getLocalIndex(neighbourPos.getX() - origin.getX(),
+                        neighbourPos.getY() - origin.getY(), neighbourPos.getZ() - origin.getZ());
+                    if(!visitedBlocks.get(neighbourIndex)) {
+                        visitedBlocks.set(neighbourIndex);
+                        blocksToCheck.add(neighbourIndex);
+                    }
+                }
+            }
+        }
+        if(isScanFinished()) {
+            this.blocksToCheck.clear();
+            this.queueHead = 0;
+        }
+    }
+
+    public boolean hasFluidSources() {
+        return !fluidSources.isEmpty();
+    }
+
+    /**
+     * @return position of source block that should be pumped first, or null if no sources were found
+     */
+    @Nullable
+    public BlockPos getFirstFluidSource() {
+        if(fluidSources.isEmpty()) {
+            return null;
+        }
+        int localIndex = (int) (fluidSources.get(fluidSources.size() - 1) & 0xFFFFF);
+        return setLocalPos(localIndex, new MutableBlockPos()).toImmutable();
+    }
+
+    public void removeFirstFluidSource() {
+        if(!fluidSources.isEmpty()) {
+            fluidSources.removeAt(fluidSources.size() - 1);
+        }
+    }
+
+    private void addFluidSource(int localIndex) {
+        long sortKey = (long) blockPos.getY() << 32 | (long) (int) blockPos.distanceSq(origin) << 20 | localIndex;
+        int insertIndex = fluidSources.binarySearch(sortKey);
+        if(insertIndex < 0) {
+            fluidSources.insert(-insertIndex - 1, sortKey);
+        }
+    }
+
+    private int getLocalIndex(int offsetX, int offsetY, int offsetZ) {
+        return ((offsetX + range) * sideLength + offsetY + range) * sideLength + offsetZ + range;
+    }
+
+    private MutableBlockPos setLocalPos(int localIndex, MutableBlockPos resultPos) {
+        int offsetZ = localIndex % sideLength - range;
+        int offsetY = localIndex / sideLength % sideLength - range;
+        int offsetX = localIndex / sideLength / sideLength - range;
+        return resultPos.setPos(origin.getX() + offsetX, origin.getY() + offsetY, origin.getZ() + offsetZ);
+    }
+}
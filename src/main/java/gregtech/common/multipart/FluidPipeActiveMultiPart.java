@@ -1,5 +1,6 @@
 package gregtech.common.multipart;
 
+import gregtech.api.util.NeighborCapabilityCache;
 import gregtech.common.pipelike.fluidpipe.FluidPipeProperties;
 import gregtech.common.pipelike.fluidpipe.FluidPipeType;
 import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeActive;
@@ -10,6 +11,8 @@ import net.minecraft.util.ResourceLocation;
 
 public class FluidPipeActiveMultiPart extends FluidPipeMultiPart implements ITickable {
 
+    private final NeighborCapabilityCache neighborCache = new NeighborCapabilityCache();
+
     FluidPipeActiveMultiPart() {
     }
 
@@ -28,6 +31,18 @@ public class FluidPipeActiveMultiPart extends FluidPipeMultiPart implements ITic
 
     @Override
     public void update() {
-        TileEntityFluidPipeActive.pushFluidsFromTank(this, getFluidHandler());
+        TileEntityFluidPipeActive.pushFluidsFromTank(this, getFluidHandler(), neighborCache);
+    }
+
+    @Override
+    public void onNeighborChanged() {
+        super.onNeighborChanged();
+        neighborCache.invalidate();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        neighborCache.invalidate();
     }
 }
@@ -10,12 +10,14 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 
-import java.util.*;
+import java.util.List;
 
 public class EnergyNet extends PipeNet<WireProperties> {
 
     private final PerTickLongCounter currentAmperageCounter = new PerTickLongCounter(0L);
     private final PerTickLongCounter currentMaxVoltageCounter = new PerTickLongCounter(0L);
+    private EnergyRoutingTable routingTable;
+    private boolean isUpdatingRoutesIncrementally;
 
     protected EnergyNet(WorldPipeNet<WireProperties, EnergyNet> world) {
         super(world);
@@ -37,45 +39,83 @@ public class EnergyNet extends PipeNet<WireProperties> {
         }
     }
 
-    public List<RoutePath> computePatches(BlockPos startPos) {
-        ArrayList<RoutePath> readyPaths = new ArrayList<>();
-        RoutePath currentPath = new RoutePath();
-        Node<WireProperties> firstNode = allNodes.get(startPos);
-        currentPath.path.put(startPos, firstNode.data);
-        readyPaths.add(currentPath.cloneAndCompute(startPos));
-        HashSet<BlockPos> observedSet = new HashSet<>();
-        observedSet.add(startPos);
-        MutableBlockPos currentPos = new MutableBlockPos(startPos);
-        Stack<EnumFacing> moveStack = new Stack<>();
-        main: while(true) {
-            for(EnumFacing facing : EnumFacing.VALUES) {
-                currentPos.move(facing);
-                Node<WireProperties> secondNode = allNodes.get(currentPos);
-                if(secondNode != null && canNodesConnect(firstNode, facing, secondNode, this) && !observedSet.contains(currentPos)) {
-                    BlockPos immutablePos = currentPos.toImmutable();
-                    observedSet.add(immutablePos);
-                    firstNode = secondNode;
-                    moveStack.push(facing.getOpposite());
-                    currentPath.path.put(immutablePos, allNodes.get(immutablePos).data);
-                    if(secondNode.isActive) {
-                        //if we are on active node, this is end of our path
-                        RoutePath finalizedPath = currentPath.cloneAndCompute(immutablePos);
-                        readyPaths.add(finalizedPath);
-                    }
-                    continue main;
-                } else {
-                    currentPos.move(facing.getOpposite());
-                }
+    public List<RoutePath> getRoutes(BlockPos sourcePos) {
+        if(routingTable == null) {
+            this.routingTable = new EnergyRoutingTable(this);
+        }
+        return routingTable.getRoutes(sourcePos);
+    }
+
+    /**
+     * @return bitmask of sides on which node at given position can connect to other nodes of this net
+     */
+    int getConnectedSides(BlockPos nodePos, Node<WireProperties> node) {
+        int connectedSides = 0;
+        MutableBlockPos offsetPos = new MutableBlockPos();
+        for(EnumFacing facing : EnumFacing.VALUES) {
+            offsetPos.setPos(nodePos).move(facing);
+            Node<WireProperties> secondNode = allNodes.get(offsetPos);
+            if(secondNode != null && canNodesConnect(node, facing, secondNode, this)) {
+                connectedSides |= 1 << facing.getIndex();
             }
-            if(!moveStack.isEmpty()) {
-                currentPos.move(moveStack.pop());
-                //also remove already visited block from path
-                currentPath.path.remove(currentPos);
-            } else break;
         }
-        return readyPaths;
+        return connectedSides;
+    }
+
+    @Override
+    protected void onConnectionsUpdate() {
+        super.onConnectionsUpdate();
+        if(!isUpdatingRoutesIncrementally) {
+            //routes are rebuilt lazily on next request
+            this.routingTable = null;
+        }
     }
 
+    @Override
+    protected void addNode(BlockPos nodePos, Node<WireProperties> node) {
+        int connectedSides = routingTable == null ? 0 : getConnectedSides(nodePos, node);
+        if(Integer.bitCount(connectedSides) != 1) {
+            //node can create shorter routes between existing nodes, so rebuild everything
+            super.addNode(nodePos, node);
+            return;
+        }
+        this.isUpdatingRoutesIncrementally = true;
+        super.addNode(nodePos, node);
+        this.isUpdatingRoutesIncrementally = false;
+        EnumFacing connectedSide = EnumFacing.VALUES[Integer.numberOfTrailingZeros(connectedSides)];
+        routingTable.onLeafNodeAdded(nodePos, node, connectedSide);
+    }
+
+    @Override
+    protected void removeNode(BlockPos nodePos) {
+        Node<WireProperties> node = allNodes.get(nodePos);
+        if(routingTable == null || node == null || Integer.bitCount(getConnectedSides(nodePos, node)) != 1) {
+            super.removeNode(nodePos);
+            return;
+        }
+        //leaf node can be removed without affecting any other routes
+        int expectedNodesAmount = allNodes.size() - 1;
+        this.isUpdatingRoutesIncrementally = true;
+        super.removeNode(nodePos);
+        this.isUpdatingRoutesIncrementally = false;
+        if(allNodes.size() == expectedNodesAmount) {
+            routingTable.onLeafNodeRemoved(nodePos);
+        } else {
+            //net was split nevertheless, so drop routes to nodes which are not in this net anymore
+            this.routingTable = null;
+        }
+    }
+
+    @Override
+    public boolean markNodeAsActive(BlockPos nodePos, boolean isActive) {
+        this.isUpdatingRoutesIncrementally = true;
+        boolean result = super.markNodeAsActive(nodePos, isActive);
+        this.isUpdatingRoutesIncrementally = false;
+        if(result && routingTable != null) {
+            routingTable.onNodeActivityChanged(nodePos, isActive);
+        }
+        return result;
+    }
 
     @Override
     protected void writeNodeData(WireProperties nodeData, NBTTagCompound tagCompound) {
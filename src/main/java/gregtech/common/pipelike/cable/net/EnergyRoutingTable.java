@@ -0,0 +1,260 @@
+package gregtech.common.pipelike.cable.net;
+
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gregtech.api.pipenet.Node;
+import gregtech.common.pipelike.cable.WireProperties;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+/**
+ * Lowest-loss routes between nodes of single energy net<p>
+ *
+ * Nodes are indexed once when table is created. Routes from source node to every active node
+ * are computed lazily using Dijkstra algorithm with node loss as cost, and then shared by all
+ * cables emitting energy from that node until the net is changed.
+ * Routes are stored as arrays of node indexes, ordered by total loss.<p>
+ *
+ * Adding or removing leaf node and changing node activity are applied incrementally,
+ * since these cannot change any already computed shortest route.
+ */
+public class EnergyRoutingTable {
+
+    private static final int NO_NODE = -1;
+    private static final int UNREACHABLE = -2;
+
+    private final TLongIntMap nodeIndexes = new TLongIntHashMap(16, 0.5f, Long.MIN_VALUE, NO_NODE);
+    private BlockPos[] nodePositions;
+    private WireProperties[] nodeProperties;
+    private Node<WireProperties>[] nodes;
+    //6 entries per node, index of connected node on each side or NO_NODE
+    private int[] adjacentNodes;
+    private int nodeCount;
+
+    private final TIntObjectMap<int[]> predecessorsBySource = new TIntObjectHashMap<>();
+    private final TIntObjectMap<List<RoutePath>> routesBySource = new TIntObjectHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public EnergyRoutingTable(EnergyNet energyNet) {
+        Map<BlockPos, Node<WireProperties>> allNodes = energyNet.getAllNodes();
+        int capacity = Math.max(allNodes.size(), 4);
+        this.nodePositions = new BlockPos[capacity];
+        this.nodeProperties = new WireProperties[capacity];
+        this.nodes = new Node[capacity];
+        this.adjacentNodes = new int[capacity * 6];
+        Arrays.fill(adjacentNodes, NO_NODE);
+
+        for(Entry<BlockPos, Node<WireProperties>> entry : allNodes.entrySet()) {
+            addNodeIndex(entry.getKey(), entry.getValue());
+        }
+        MutableBlockPos offsetPos = new MutableBlockPos();
+        for(int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+            int connectedSides = energyNet.getConnectedSides(nodePositions[nodeIndex], nodes[nodeIndex]);
+            for(EnumFacing facing : EnumFacing.VALUES) {
+                if((connectedSides & 1 << facing.getIndex()) == 0) continue;
+                offsetPos.setPos(nodePositions[nodeIndex]).move(facing);
+                adjacentNodes[nodeIndex * 6 + facing.getIndex()] = nodeIndexes.get(offsetPos.toLong());
+            }
+        }
+    }
+
+    public List<RoutePath> getRoutes(BlockPos sourcePos) {
+        int sourceIndex = nodeIndexes.get(sourcePos.toLong());
+        if(sourceIndex == NO_NODE) {
+            return Collections.emptyList();
+        }
+        List<RoutePath> routes = routesBySource.get(sourceIndex);
+        if(routes == null) {
+            routes = computeRoutes(sourceIndex);
+        }
+        return routes;
+    }
+
+    /**
+     * Called after node connected to exactly one other node was added to the net
+     */
+    void onLeafNodeAdded(BlockPos nodePos, Node<WireProperties> node, EnumFacing connectedSide) {
+        int nodeIndex = addNodeIndex(nodePos, node);
+        int neighbourIndex = nodeIndexes.get(nodePos.offset(connectedSide).toLong());
+        if(neighbourIndex == NO_NODE) return;
+        adjacentNodes[nodeIndex * 6 + connectedSide.getIndex()] = neighbourIndex;
+        adjacentNodes[neighbourIndex * 6 + connectedSide.getOpposite().getIndex()] = nodeIndex;
+
+        for(int sourceIndex : predecessorsBySource.keys()) {
+            int[] predecessors = predecessorsBySource.get(sourceIndex);
+            if(predecessors.length < nodePositions.length) {
+                int oldLength = predecessors.length;
+                predecessors = Arrays.copyOf(predecessors, nodePositions.length);
+                Arrays.fill(predecessors, oldLength, predecessors.length, UNREACHABLE);
+                predecessorsBySource.put(sourceIndex, predecessors);
+            }
+            if(predecessors[neighbourIndex] == UNREACHABLE) continue;
+            predecessors[nodeIndex] = neighbourIndex;
+            if(node.isActive) {
+                insertRoute(sourceIndex, createRoute(predecessors, nodeIndex));
+            }
+        }
+    }
+
+    /**
+     * Called after node connected to exactly one other node was removed from the net
+     */
+    void onLeafNodeRemoved(BlockPos nodePos) {
+        int nodeIndex = nodeIndexes.remove(nodePos.toLong());
+        if(nodeIndex == NO_NODE) return;
+        for(int side = 0; side < 6; side++) {
+            int neighbourIndex = adjacentNodes[nodeIndex * 6 + side];
+            if(neighbourIndex == NO_NODE) continue;
+            adjacentNodes[neighbourIndex * 6 + EnumFacing.VALUES[side].getOpposite().getIndex()] = NO_NODE;
+            adjacentNodes[nodeIndex * 6 + side] = NO_NODE;
+        }
+        predecessorsBySource.remove(nodeIndex);
+        routesBySource.remove(nodeIndex);
+
+        for(int sourceIndex : predecessorsBySource.keys()) {
+            predecessorsBySource.get(sourceIndex)[nodeIndex] = UNREACHABLE;
+            removeRoute(sourceIndex, nodeIndex);
+        }
+    }
+
+    void onNodeActivityChanged(BlockPos nodePos, boolean isActive) {
+        int nodeIndex = nodeIndexes.get(nodePos.toLong());
+        if(nodeIndex == NO_NODE) return;
+        for(int sourceIndex : predecessorsBySource.keys()) {
+            if(sourceIndex == nodeIndex) continue; //route to source itself always exists
+            int[] predecessors = predecessorsBySource.get(sourceIndex);
+            removeRoute(sourceIndex, nodeIndex);
+            if(isActive && predecessors[nodeIndex] != UNREACHABLE) {
+                insertRoute(sourceIndex, createRoute(predecessors, nodeIndex));
+            }
+        }
+    }
+
+    private List<RoutePath> computeRoutes(int sourceIndex) {
+        int[] distances = new int[nodeCount];
+        int[] predecessors = new int[nodePositions.length];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(predecessors, UNREACHABLE);
+        distances[sourceIndex] = nodeProperties[sourceIndex].lossPerBlock;
+        predecessors[sourceIndex] = NO_NODE;
+
+        //heap entries are distance in high bits and node index in low bits
+        TLongArrayList heap = new TLongArrayList();
+        heapPush(heap, (long) distances[sourceIndex] << 32 | sourceIndex);
+        ArrayList<RoutePath> routes = new ArrayList<>();
+
+        while(!heap.isEmpty()) {
+            long heapEntry = heapPop(heap);
+            int nodeIndex = (int) heapEntry;
+            int distance = (int) (heapEntry >>> 32);
+            if(distance > distances[nodeIndex])
+                continue; //outdated entry, node was already reached by shorter route
+            //nodes are polled in order of increasing distance, so routes are sorted by loss
+            if(nodeIndex == sourceIndex || nodes[nodeIndex].isActive) {
+                routes.add(createRoute(predecessors, nodeIndex));
+            }
+            for(int side = 0; side < 6; side++) {
+                int neighbourIndex = adjacentNodes[nodeIndex * 6 + side];
+                if(neighbourIndex == NO_NODE) continue;
+                int neighbourDistance = distance + nodeProperties[neighbourIndex].lossPerBlock;
+                if(neighbourDistance < distances[neighbourIndex]) {
+                    distances[neighbourIndex] = neighbourDistance;
+                    predecessors[neighbourIndex] = nodeIndex;
+                    heapPush(heap, (long) neighbourDistance << 32 | neighbourIndex);
+                }
+            }
+        }
+        predecessorsBySource.put(sourceIndex, predecessors);
+        routesBySource.put(sourceIndex, routes);
+        return routes;
+    }
+
+    private RoutePath createRoute(int[] predecessors, int destinationIndex) {
+        int pathLength = 0;
+        for(int nodeIndex = destinationIndex; nodeIndex != NO_NODE; nodeIndex = predecessors[nodeIndex]) {
+            pathLength++;
+        }
+        int[] path = new int[pathLength];
+        for(int nodeIndex = destinationIndex; nodeIndex != NO_NODE; nodeIndex = predecessors[nodeIndex]) {
+            path[--pathLength] = nodeIndex;
+        }
+        return new RoutePath(path, nodePositions, nodeProperties);
+    }
+
+    //route lists are replaced instead of being modified in place,
+    //because they can be iterated while cables in path are burning
+    private void insertRoute(int sourceIndex, RoutePath routePath) {
+        List<RoutePath> routes = routesBySource.get(sourceIndex);
+        ArrayList<RoutePath> newRoutes = new ArrayList<>(routes.size() + 1);
+        newRoutes.addAll(routes);
+        int insertIndex = 0;
+        while(insertIndex < routes.size() && routes.get(insertIndex).totalLoss <= routePath.totalLoss) {
+            insertIndex++;
+        }
+        newRoutes.add(insertIndex, routePath);
+        routesBySource.put(sourceIndex, newRoutes);
+    }
+
+    private void removeRoute(int sourceIndex, int destinationIndex) {
+        List<RoutePath> routes = routesBySource.get(sourceIndex);
+        ArrayList<RoutePath> newRoutes = new ArrayList<>(routes);
+        if(newRoutes.removeIf(routePath -> routePath.destinationIndex == destinationIndex)) {
+            routesBySource.put(sourceIndex, newRoutes);
+        }
+    }
+
+    private int addNodeIndex(BlockPos nodePos, Node<WireProperties> node) {
+        if(nodeCount == nodePositions.length) {
+            int newCapacity = nodeCount * 2;
+            this.nodePositions = Arrays.copyOf(nodePositions, newCapacity);
+            this.nodeProperties = Arrays.copyOf(nodeProperties, newCapacity);
+            this.nodes = Arrays.copyOf(nodes, newCapacity);
+            this.adjacentNodes = Arrays.copyOf(adjacentNodes, newCapacity * 6);
+            Arrays.fill(adjacentNodes, nodeCount * 6, adjacentNodes.length, NO_NODE);
+        }
+        int nodeIndex = nodeCount++;
+        this.nodePositions[nodeIndex] = nodePos.toImmutable();
+        this.nodeProperties[nodeIndex] = node.data;
+        this.nodes[nodeIndex] = node;
+        this.nodeIndexes.put(nodePos.toLong(), nodeIndex);
+        return nodeIndex;
+    }
+
+    private static void heapPush(TLongArrayList heap, long value) {
+        heap.add(value);
+        int index = heap.size() - 1;
+        while(index > 0) {
+            int parent = (index - 1) / 2;
+            if(heap.get(parent) <= value) break;
+            heap.set(index, heap.get(parent));
+            index = parent;
+        }
+        heap.set(index, value);
+    }
+
+    private static long heapPop(TLongArrayList heap) {
+        long result = heap.get(0);
+        long last = heap.removeAt(heap.size() - 1);
+        int size = heap.size();
+        if(size > 0) {
+            int index = 0;
+            while(true) {
+                int child = index * 2 + 1;
+                if(child >= size) break;
+                if(child + 1 < size && heap.get(child + 1) < heap.get(child)) child++;
+                if(heap.get(child) >= last) break;
+                heap.set(index, heap.get(child));
+                index = child;
+            }
+            heap.set(index, last);
+        }
+        return result;
+    }
+}
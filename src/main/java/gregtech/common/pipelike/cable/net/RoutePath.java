@@ -9,31 +9,46 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 
-import java.util.HashMap;
-
+/**
+ * Represents route from source node to destination node in energy net
+ * Route is stored as array of node indexes of {@link EnergyRoutingTable}
+ */
 public class RoutePath {
 
-    public BlockPos destination;
-    public HashMap<BlockPos, WireProperties> path = new HashMap<>();
-    public int maxAmperage = Integer.MAX_VALUE;
-    public int minVoltage = Integer.MAX_VALUE;
-    public int totalLoss;
-
-    public RoutePath cloneAndCompute(BlockPos destination) {
-        RoutePath newPath = new RoutePath();
-        newPath.path = new HashMap<>(path);
-        newPath.destination = destination;
-        for(WireProperties wireProperties : path.values()) {
-            newPath.maxAmperage = Math.min(newPath.maxAmperage, wireProperties.amperage);
-            newPath.minVoltage = Math.min(newPath.minVoltage, wireProperties.voltage);
-            newPath.totalLoss += wireProperties.lossPerBlock;
+    public final BlockPos destination;
+    public final int maxAmperage;
+    public final int minVoltage;
+    public final int totalLoss;
+
+    final int destinationIndex;
+    private final int[] path;
+    private final BlockPos[] nodePositions;
+    private final WireProperties[] nodeProperties;
+
+    RoutePath(int[] path, BlockPos[] nodePositions, WireProperties[] nodeProperties) {
+        this.path = path;
+        this.nodePositions = nodePositions;
+        this.nodeProperties = nodeProperties;
+        this.destinationIndex = path[path.length - 1];
+        this.destination = nodePositions[destinationIndex];
+        int maxAmperage = Integer.MAX_VALUE;
+        int minVoltage = Integer.MAX_VALUE;
+        int totalLoss = 0;
+        for(int nodeIndex : path) {
+            WireProperties wireProperties = nodeProperties[nodeIndex];
+            maxAmperage = Math.min(maxAmperage, wireProperties.amperage);
+            minVoltage = Math.min(minVoltage, wireProperties.voltage);
+            totalLoss += wireProperties.lossPerBlock;
         }
-        return newPath;
+        this.maxAmperage = maxAmperage;
+        this.minVoltage = minVoltage;
+        this.totalLoss = totalLoss;
     }
 
     public boolean burnCablesInPath(World world, long voltage, long amperage) {
-        for(BlockPos blockPos : path.keySet()) {
-            WireProperties wireProperties = path.get(blockPos);
+        for(int nodeIndex : path) {
+            BlockPos blockPos = nodePositions[nodeIndex];
+            WireProperties wireProperties = nodeProperties[nodeIndex];
             if(voltage > wireProperties.voltage || amperage > wireProperties.amperage) {
                 TileEntity tileEntity = world.getTileEntity(blockPos);
                 if(tileEntity instanceof TileEntityCable) {
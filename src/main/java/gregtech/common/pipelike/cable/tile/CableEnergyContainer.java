@@ -22,8 +22,6 @@ public class CableEnergyContainer implements IEnergyContainer {
 
     private final IPipeTile<Insulation, WireProperties> tileEntityCable;
     private WeakReference<EnergyNet> currentEnergyNet = new WeakReference<>(null);
-    private long lastCachedUpdate;
-    private List<RoutePath> pathsCache;
 
     public CableEnergyContainer(IPipeTile<Insulation, WireProperties> tileEntityCable) {
         this.tileEntityCable = tileEntityCable;
@@ -129,20 +127,12 @@ public class CableEnergyContainer implements IEnergyContainer {
         return 0;
     }
 
-    private void recomputePaths(EnergyNet energyNet) {
-        this.lastCachedUpdate = energyNet.getLastUpdate();
-        this.pathsCache = energyNet.computePatches(tileEntityCable.getPipePos());
-    }
-
     private List<RoutePath> getPaths() {
         EnergyNet energyNet = getEnergyNet();
         if(energyNet == null) {
             return Collections.emptyList();
         }
-        if(pathsCache == null || energyNet.getLastUpdate() > lastCachedUpdate) {
-            recomputePaths(energyNet);
-        }
-        return pathsCache;
+        return energyNet.getRoutes(tileEntityCable.getPipePos());
     }
 
     private EnergyNet getEnergyNet() {
@@ -11,6 +11,7 @@ import gregtech.common.pipelike.fluidpipe.net.WorldFluidPipeNet;
 import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipe;
 import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeActive;
 import gregtech.common.render.FluidPipeRenderer;
+import net.minecraft.block.Block;
 import net.minecraft.block.properties.PropertyBool;
 import net.minecraft.block.state.BlockStateContainer;
 import net.minecraft.block.state.IBlockState;
@@ -170,6 +171,15 @@ public class BlockFluidPipe extends BlockPipe<FluidPipeType, FluidPipeProperties
         }
     }
 
+    @Override
+    public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos) {
+        super.neighborChanged(state, worldIn, pos, blockIn, fromPos);
+        TileEntity tileEntity = worldIn.getTileEntity(pos);
+        if(tileEntity instanceof TileEntityFluidPipeActive) {
+            ((TileEntityFluidPipeActive) tileEntity).onNeighborChanged();
+        }
+    }
+
     @Override
     protected void onActiveModeChange(World world, BlockPos pos, boolean isActiveNow, boolean isInitialChange) {
         TileEntityFluidPipe newTileEntity = isActiveNow ?
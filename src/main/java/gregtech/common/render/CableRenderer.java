@@ -65,12 +65,18 @@ public class CableRenderer implements ICCBlockRenderer, IItemRenderer, IModelPar
     public static ModelResourceLocation MODEL_LOCATION = new ModelResourceLocation(new ResourceLocation(GTValues.MODID, "cable"), "normal");
     public static CableRenderer INSTANCE = new CableRenderer();
     public static EnumBlockRenderType BLOCK_RENDER_TYPE;
-    private static ThreadLocal<BlockFace> blockFaces = ThreadLocal.withInitial(BlockFace::new);
+    private static final PipeRenderGeometry[] GEOMETRIES = new PipeRenderGeometry[Insulation.values().length];
 
     private TextureAtlasSprite[] insulationTextures = new TextureAtlasSprite[6];
     private Set<MaterialIconSet> generatedSets = new HashSet<>();
     private Map<MaterialIconSet, TextureAtlasSprite> wireTextures = new HashMap<>();
 
+    static {
+        for(Insulation insulation : Insulation.values()) {
+            GEOMETRIES[insulation.ordinal()] = new PipeRenderGeometry(insulation.thickness);
+        }
+    }
+
     public static void preInit() {
         BLOCK_RENDER_TYPE = BlockRenderingRegistry.createRenderType("gt_cable");
         BlockRenderingRegistry.registerRenderer(BLOCK_RENDER_TYPE, INSTANCE);
@@ -141,7 +147,7 @@ public class CableRenderer implements ICCBlockRenderer, IItemRenderer, IModelPar
     public void renderCableBlock(Material material, Insulation insulation1, int insulationColor1, CCRenderState state, IVertexOperation[] pipeline, int connectMask) {
         MaterialIconSet iconSet = material.materialIconSet;
         int wireColor = GTUtility.convertRGBtoOpaqueRGBA_CL(material.materialRGB);
-        float thickness = insulation1.thickness;
+        PipeRenderGeometry geometry = GEOMETRIES[insulation1.ordinal()];
 
         IVertexOperation[] wire = ArrayUtils.addAll(pipeline, new IconTransformation(wireTextures.get(iconSet)), new ColourMultiplier(wireColor));
         IVertexOperation[] overlays = wire;
@@ -154,48 +160,45 @@ public class CableRenderer implements ICCBlockRenderer, IItemRenderer, IModelPar
             overlays = ArrayUtils.addAll(pipeline, new IconTransformation(insulationTextures[insulation1.insulationLevel]), multiplier);
         }
 
-        Cuboid6 cuboid6 = BlockCable.getSideBox(null, thickness);
         for(EnumFacing renderedSide : EnumFacing.VALUES) {
             if((connectMask & 1 << renderedSide.getIndex()) == 0) {
                 int oppositeIndex = renderedSide.getOpposite().getIndex();
+                BlockFace centerFace = geometry.getCenterFace(renderedSide);
                 if((connectMask & 1 << oppositeIndex) > 0 && (connectMask & ~(1 << oppositeIndex)) == 0) {
                     //if there is something on opposite side, render overlay + wire
-                    renderCableSide(state, wire, renderedSide, cuboid6);
-                    renderCableSide(state, overlays, renderedSide, cuboid6);
+                    renderCableSide(state, wire, centerFace);
+                    renderCableSide(state, overlays, centerFace);
                 } else {
-                    renderCableSide(state, insulation, renderedSide, cuboid6);
+                    renderCableSide(state, insulation, centerFace);
                 }
             }
         }
 
-        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.DOWN, thickness);
-        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.UP, thickness);
-        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.WEST, thickness);
-        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.EAST, thickness);
-        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.NORTH, thickness);
-        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.SOUTH, thickness);
+        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.DOWN, geometry);
+        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.UP, geometry);
+        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.WEST, geometry);
+        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.EAST, geometry);
+        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.NORTH, geometry);
+        renderCableCube(connectMask, state, insulation, wire, overlays, EnumFacing.SOUTH, geometry);
     }
 
-    private static void renderCableCube(int connections, CCRenderState renderState, IVertexOperation[] pipeline, IVertexOperation[] wire, IVertexOperation[] overlays, EnumFacing side, float thickness) {
+    private static void renderCableCube(int connections, CCRenderState renderState, IVertexOperation[] pipeline, IVertexOperation[] wire, IVertexOperation[] overlays, EnumFacing side, PipeRenderGeometry geometry) {
         if((connections & 1 << side.getIndex()) > 0) {
             boolean renderFrontSide = (connections & 1 << (6 + side.getIndex())) > 0;
-            Cuboid6 cuboid6 = BlockCable.getSideBox(side, thickness);
             for(EnumFacing renderedSide : EnumFacing.VALUES) {
                 if(renderedSide == side) {
                     if(renderFrontSide) {
-                        renderCableSide(renderState, wire, renderedSide, cuboid6);
-                        renderCableSide(renderState, overlays, renderedSide, cuboid6);
+                        renderCableSide(renderState, wire, geometry.getSideFace(side, renderedSide));
+                        renderCableSide(renderState, overlays, geometry.getSideFace(side, renderedSide));
                     }
                 } else if(renderedSide != side.getOpposite()) {
-                    renderCableSide(renderState, pipeline, renderedSide, cuboid6);
+                    renderCableSide(renderState, pipeline, geometry.getSideFace(side, renderedSide));
                 }
             }
         }
     }
 
-    private static void renderCableSide(CCRenderState renderState, IVertexOperation[] pipeline, EnumFacing side, Cuboid6 cuboid6) {
-        BlockFace blockFace = blockFaces.get();
-        blockFace.loadCuboidFace(cuboid6, side.getIndex());
+    private static void renderCableSide(CCRenderState renderState, IVertexOperation[] pipeline, BlockFace blockFace) {
         renderState.setPipeline(blockFace, 0, blockFace.verts.length, pipeline);
         renderState.render();
     }
@@ -64,12 +64,18 @@ public class FluidPipeRenderer implements ICCBlockRenderer, IItemRenderer, IMode
     public static ModelResourceLocation MODEL_LOCATION = new ModelResourceLocation(new ResourceLocation(GTValues.MODID, "fluid_pipe"), "normal");
     public static FluidPipeRenderer INSTANCE = new FluidPipeRenderer();
     public static EnumBlockRenderType BLOCK_RENDER_TYPE;
-    private static ThreadLocal<BlockFace> blockFaces = ThreadLocal.withInitial(BlockFace::new);
+    private static final PipeRenderGeometry[] GEOMETRIES = new PipeRenderGeometry[FluidPipeType.values().length];
 
     private Set<MaterialIconSet> generatedSets = new HashSet<>();
     private Map<MaterialIconSet, TextureAtlasSprite> pipeSideTextures = new HashMap<>();
     private Map<MaterialIconSet, TextureAtlasSprite> pipeEndTextures = new HashMap<>();
 
+    static {
+        for(FluidPipeType pipeType : FluidPipeType.values()) {
+            GEOMETRIES[pipeType.ordinal()] = new PipeRenderGeometry(pipeType.thickness);
+        }
+    }
+
     public static void preInit() {
         BLOCK_RENDER_TYPE = BlockRenderingRegistry.createRenderType("gt_fluid_pipe");
         BlockRenderingRegistry.registerRenderer(BLOCK_RENDER_TYPE, INSTANCE);
@@ -144,51 +150,47 @@ public class FluidPipeRenderer implements ICCBlockRenderer, IItemRenderer, IMode
         } else {
             pipeColor = GTUtility.convertRGBtoOpaqueRGBA_CL(material.materialRGB);
         }
-        float thickness = pipeType.getThickness();
+        PipeRenderGeometry geometry = GEOMETRIES[pipeType.ordinal()];
         ColourMultiplier multiplier = new ColourMultiplier(pipeColor);
         IVertexOperation[] pipeConnectSide = ArrayUtils.addAll(pipeline, new IconTransformation(pipeEndTextures.get(iconSet)), multiplier);
         IVertexOperation[] pipeSide = ArrayUtils.addAll(pipeline, new IconTransformation(pipeSideTextures.get(iconSet)), multiplier);
 
 
-        Cuboid6 cuboid6 = BlockFluidPipe.getSideBox(null, thickness);
         for(EnumFacing renderedSide : EnumFacing.VALUES) {
             if((connectMask & 1 << renderedSide.getIndex()) == 0) {
                 int oppositeIndex = renderedSide.getOpposite().getIndex();
                 if((connectMask & 1 << oppositeIndex) > 0 && (connectMask & ~(1 << oppositeIndex)) == 0) {
-                    renderPipeSide(state, pipeConnectSide, renderedSide, cuboid6);
+                    renderPipeSide(state, pipeConnectSide, geometry.getCenterFace(renderedSide));
                 } else {
-                    renderPipeSide(state, pipeSide, renderedSide, cuboid6);
+                    renderPipeSide(state, pipeSide, geometry.getCenterFace(renderedSide));
                 }
             }
         }
 
-        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.DOWN, thickness);
-        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.UP, thickness);
-        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.WEST, thickness);
-        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.EAST, thickness);
-        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.NORTH, thickness);
-        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.SOUTH, thickness);
+        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.DOWN, geometry);
+        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.UP, geometry);
+        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.WEST, geometry);
+        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.EAST, geometry);
+        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.NORTH, geometry);
+        renderPipeCube(connectMask, state, pipeSide, pipeConnectSide, EnumFacing.SOUTH, geometry);
     }
 
-    private static void renderPipeCube(int connections, CCRenderState renderState, IVertexOperation[] pipeline, IVertexOperation[] pipeConnectSide, EnumFacing side, float thickness) {
+    private static void renderPipeCube(int connections, CCRenderState renderState, IVertexOperation[] pipeline, IVertexOperation[] pipeConnectSide, EnumFacing side, PipeRenderGeometry geometry) {
         if((connections & 1 << side.getIndex()) > 0) {
             boolean renderFrontSide = (connections & 1 << (6 + side.getIndex())) > 0;
-            Cuboid6 cuboid6 = BlockFluidPipe.getSideBox(side, thickness);
             for(EnumFacing renderedSide : EnumFacing.VALUES) {
                 if(renderedSide == side) {
                     if(renderFrontSide) {
-                        renderPipeSide(renderState, pipeConnectSide, renderedSide, cuboid6);
+                        renderPipeSide(renderState, pipeConnectSide, geometry.getSideFace(side, renderedSide));
                     }
                 } else if(renderedSide != side.getOpposite()) {
-                    renderPipeSide(renderState, pipeline, renderedSide, cuboid6);
+                    renderPipeSide(renderState, pipeline, geometry.getSideFace(side, renderedSide));
                 }
             }
         }
     }
 
-    private static void renderPipeSide(CCRenderState renderState, IVertexOperation[] pipeline, EnumFacing side, Cuboid6 cuboid6) {
-        BlockFace blockFace = blockFaces.get();
-        blockFace.loadCuboidFace(cuboid6, side.getIndex());
+    private static void renderPipeSide(CCRenderState renderState, IVertexOperation[] pipeline, BlockFace blockFace) {
         renderState.setPipeline(blockFace, 0, blockFace.verts.length, pipeline);
         renderState.render();
     }
@@ -0,0 +1,49 @@
+package gregtech.common.render;
+
+import codechicken.lib.render.BlockRenderer.BlockFace;
+import codechicken.lib.vec.Cuboid6;
+import gregtech.api.pipenet.block.BlockPipe;
+import net.minecraft.util.EnumFacing;
+
+import javax.annotation.Nullable;
+
+/**
+ * Faces of pipe center and side cuboids of given thickness, loaded once and replayed on every render<p>
+ *
+ * Rendering pipe block then only selects faces by connection mask and applies pipeline with texture and colour,
+ * without creating cuboids and loading faces from them. Light coordinates of faces are computed on construction,
+ * because block face computes them lazily on first render otherwise, so rendering doesn't modify faces
+ * and they can be shared between all pipes of the same thickness and all chunk render threads.
+ */
+public class PipeRenderGeometry {
+
+    private final BlockFace[] centerFaces = new BlockFace[6];
+    //faces of side cuboids, indexed by cuboid side and then by face side, face towards pipe center is null
+    private final BlockFace[][] sideFaces = new BlockFace[6][6];
+
+    public PipeRenderGeometry(float thickness) {
+        loadCuboidFaces(BlockPipe.getSideBox(null, thickness), centerFaces, null);
+        for(EnumFacing side : EnumFacing.VALUES) {
+            loadCuboidFaces(BlockPipe.getSideBox(side, thickness), sideFaces[side.getIndex()], side.getOpposite());
+        }
+    }
+
+    private static void loadCuboidFaces(Cuboid6 cuboid, BlockFace[] faces, @Nullable EnumFacing skippedSide) {
+        for(EnumFacing renderedSide : EnumFacing.VALUES) {
+            if(renderedSide == skippedSide) continue;
+            BlockFace blockFace = new BlockFace();
+            blockFace.loadCuboidFace(cuboid, renderedSide.getIndex());
+            //compute them now, so render threads don't fill them concurrently on first render
+            blockFace.computeLightCoords();
+            faces[renderedSide.getIndex()] = blockFace;
+        }
+    }
+
+    public BlockFace getCenterFace(EnumFacing renderedSide) {
+        return centerFaces[renderedSide.getIndex()];
+    }
+
+    public BlockFace getSideFace(EnumFacing side, EnumFacing renderedSide) {
+        return sideFaces[side.getIndex()][renderedSide.getIndex()];
+    }
+}
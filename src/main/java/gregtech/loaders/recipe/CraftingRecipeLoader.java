@@ -68,40 +68,40 @@ public class CraftingRecipeLoader {
 
         if (ConfigHolder.vanillaRecipes.bucketRequirePlatesAndHammer) {
             ModHandler.addShapedRecipe("iron_bucket", new ItemStack(Items.BUCKET), "XhX", " X ", 'X', new UnificationEntry(OrePrefix.plate, Materials.Iron));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:bucket"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:bucket"));
         }
         if (ConfigHolder.vanillaRecipes.ironConsumingCraftingRecipesRequirePlates) {
             ModHandler.addShapedRecipe("iron_pressure_plate", new ItemStack(Blocks.HEAVY_WEIGHTED_PRESSURE_PLATE), "XXh", 'X', new UnificationEntry(OrePrefix.plate, Materials.Iron));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:heavy_weighted_pressure_plate"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:heavy_weighted_pressure_plate"));
 
             ModHandler.addShapedRecipe("gold_pressure_plate", new ItemStack(Blocks.LIGHT_WEIGHTED_PRESSURE_PLATE), "XXh", 'X', new UnificationEntry(OrePrefix.plate, Materials.Gold));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:light_weighted_pressure_plate"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:light_weighted_pressure_plate"));
 
             ModHandler.addShapedRecipe("iron_door", new ItemStack(Items.IRON_DOOR, 3), "XX ", "XXh", "XX ", 'X', new UnificationEntry(OrePrefix.plate, Materials.Iron));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:iron_door"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:iron_door"));
 
             ModHandler.addShapedRecipe("iron_trapdor", new ItemStack(Blocks.IRON_TRAPDOOR), "XX ", "XXh", 'X', new UnificationEntry(OrePrefix.plate, Materials.Iron));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:iron_trapdor"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:iron_trapdor"));
 
             ModHandler.addShapedRecipe("cauldron", new ItemStack(Items.CAULDRON), "X X", "XhX", "XXX", 'X', new UnificationEntry(OrePrefix.plate, Materials.Iron));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:cauldron"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:cauldron"));
 
             ModHandler.addShapedRecipe("hopper", new ItemStack(Blocks.HOPPER), "XwX", "XCX", " X ", 'X', new UnificationEntry(OrePrefix.plate, Materials.Iron), 'C', "chestWood");
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:hopper"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:hopper"));
 
             ModHandler.addShapedRecipe("iron_bars", new ItemStack(Blocks.IRON_BARS, 8), " w ", "XXX", "XXX", 'X', new UnificationEntry(OrePrefix.stick, Materials.Iron));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:iron_bars"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:iron_bars"));
         }
 
         if (ConfigHolder.vanillaRecipes.bowlRequireKnife) {
             ModHandler.addShapedRecipe("bowl", new ItemStack(Items.BOWL), "k", "X", 'X', new UnificationEntry(OrePrefix.plank, Materials.Wood));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:bowl"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:bowl"));
         }
 
         if (ConfigHolder.vanillaRecipes.nerfStickCrafting) {
             ModHandler.addShapedRecipe("stick_saw", new ItemStack(Items.STICK, 4), "s", "P", "P", 'P', new UnificationEntry(OrePrefix.plank, Materials.Wood));
             ModHandler.addShapedRecipe("stick_normal", new ItemStack(Items.STICK, 2), "P", "P", 'P', new UnificationEntry(OrePrefix.plank, Materials.Wood));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:stick"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:stick"));
         }
 
         ModHandler.addShapelessRecipe("dust_electrum", OreDictUnifier.get(OrePrefix.dust, Materials.Electrum, 2), new UnificationEntry(OrePrefix.dust, Materials.Silver), new UnificationEntry(OrePrefix.dust, Materials.Gold));
@@ -145,8 +145,8 @@ public class CraftingRecipeLoader {
         ModHandler.addShapedRecipe("magnifying_glass", MetaItems.MAGNIFYING_GLASS.getStackForm(1), "PGh", "Xf ", 'X', new UnificationEntry(OrePrefix.stick, Materials.Steel), 'P', new UnificationEntry(OrePrefix.ring, Materials.Steel), 'G', new UnificationEntry(OrePrefix.lens, Materials.Glass));
 
         if (ConfigHolder.vanillaRecipes.nerfPaperCrafting) {
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:paper"));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:sugar"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:paper"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:sugar"));
             ModHandler.addShapedRecipe("paper_dust", OreDictUnifier.get(OrePrefix.dust, Materials.Paper, 2), "SSS", " m ", 'S', new ItemStack(Items.REEDS));
             ModHandler.addShapedRecipe("sugar", OreDictUnifier.get(OrePrefix.dust, Materials.Sugar, 1), "Sm ", 'S', new ItemStack(Items.REEDS));
             ItemStack resultStack = OreDictUnifier.get(OrePrefix.plate, Materials.Paper, 2);
@@ -159,7 +159,7 @@ public class CraftingRecipeLoader {
 
         if (ConfigHolder.vanillaRecipes.flintAndSteelRequireSteel) {
             ModHandler.addShapedRecipe("flint_and_steel", new ItemStack(Items.FLINT_AND_STEEL), "S ", " F", 'F', new ItemStack(Items.FLINT, 1), 'S', new UnificationEntry(OrePrefix.nugget, Materials.Steel));
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:flint_and_steel"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:flint_and_steel"));
         }
 
     }
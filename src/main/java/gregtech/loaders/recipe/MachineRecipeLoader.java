@@ -566,7 +566,7 @@ public class MachineRecipeLoader {
             RecipeMaps.ASSEMBLER_RECIPES.recipeBuilder().EUt(2).inputs(MetaItems.MINECART_WHEELS_IRON.getStackForm(2)).input(OrePrefix.plate, Materials.Iron, 3).outputs(new ItemStack(Items.MINECART,1)).duration(500).buildAndRegister();
             RecipeMaps.ASSEMBLER_RECIPES.recipeBuilder().EUt(2).inputs(MetaItems.MINECART_WHEELS_IRON.getStackForm(2)).input(OrePrefix.plate, Materials.WroughtIron, 3).outputs(new ItemStack(Items.MINECART,1)).duration(400).buildAndRegister();
             RecipeMaps.ASSEMBLER_RECIPES.recipeBuilder().EUt(2).inputs(MetaItems.MINECART_WHEELS_STEEL.getStackForm(2)).input(OrePrefix.plate, Materials.Steel, 3).outputs(new ItemStack(Items.MINECART,1)).duration(300).buildAndRegister();
-            ModHandler.removeRecipeByName(new ResourceLocation("minecraft:minecart"));
+            ModHandler.queueRecipeRemoval(new ResourceLocation("minecraft:minecart"));
         }
 
         RecipeMaps.ASSEMBLER_RECIPES.recipeBuilder().EUt(2).input(OrePrefix.stick, Materials.Iron, 1).input(OrePrefix.ring, Materials.Iron, 2).outputs(MetaItems.MINECART_WHEELS_IRON.getStackForm()).duration(500).buildAndRegister();
@@ -993,7 +993,7 @@ public class MachineRecipeLoader {
                             GTUtility.copyAmount(originalOutput / 2, output), stack);
                     } else {
                         //if not enough planks are on output, just remove recipe
-                        ModHandler.removeRecipeByName(outputRecipe.getRegistryName());
+                        ModHandler.queueRecipeRemoval(outputRecipe.getRegistryName());
                     }
                 }
 